@@ -0,0 +1,33 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.server.booking.dto.BookingDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmarks.ServerState.BOOKER_ID;
+import static ru.practicum.shareit.benchmarks.ServerState.OWNER_ID;
+import static ru.practicum.shareit.benchmarks.ServerState.PAGE_SIZE;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "APPROVED", "REJECTED", "CANCELED"})
+    public String state;
+
+    @Benchmark
+    public List<BookingDto> getAllByBookerId(ServerState server) {
+        return server.bookingService.getAllByBookerId(BOOKER_ID, state, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> getAllByOwnerId(ServerState server) {
+        return server.bookingService.getAllByOwnerId(OWNER_ID, state, 0, PAGE_SIZE);
+    }
+}
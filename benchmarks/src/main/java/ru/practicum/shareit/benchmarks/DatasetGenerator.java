@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.server.booking.BookingState;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+public class DatasetGenerator {
+    public static final String SEARCH_TEXT = "drill";
+
+    private static final String[] ITEM_NAMES = {"Drill", "Saw", "Ladder", "Tent", "Bicycle", "Projector"};
+    private static final BookingState[] BOOKING_STATUSES = {
+            BookingState.APPROVED, BookingState.WAITING, BookingState.REJECTED, BookingState.CANCELED
+    };
+    private static final int BATCH_SIZE = 1000;
+    private static final int BOOKING_PERIOD_SECONDS = 60 * 24 * 60 * 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void generate(int users, int items, int bookings) {
+        insertUsers(users);
+        insertItems(users, items);
+        insertBookings(users, items, bookings);
+        restartSequence("users_seq", users);
+        restartSequence("items_seq", items);
+        restartSequence("bookings_seq", bookings);
+    }
+
+    private void insertUsers(int users) {
+        batchInsert("insert into users (id, name, email) values (?, ?, ?)", users,
+                i -> new Object[]{(long) i, "user" + i, "user" + i + "@shareit.ru"});
+    }
+
+    private void insertItems(int users, int items) {
+        batchInsert("insert into items (id, name, description, is_available, owner_id) values (?, ?, ?, ?, ?)", items, i -> {
+            String name = ITEM_NAMES[i % ITEM_NAMES.length];
+            return new Object[]{
+                    (long) i,
+                    name + " " + i,
+                    name + " in good condition",
+                    random.nextInt(10) != 0,
+                    (long) (i - 1) % users + 1
+            };
+        });
+    }
+
+    private void insertBookings(int users, int items, int bookings) {
+        // Each item's bookings get their own slots so that no two of them overlap
+        int slotSeconds = BOOKING_PERIOD_SECONDS / Math.max(1, (bookings + items - 1) / items);
+        LocalDateTime first = LocalDateTime.now().minusSeconds(BOOKING_PERIOD_SECONDS / 2);
+        batchInsert("insert into bookings (id, status, booker_id, item_id, start_date, end_date) values (?, ?, ?, ?, ?, ?)",
+                bookings, i -> {
+                    int slot = (i - 1) / items;
+                    LocalDateTime start = first.plusSeconds((long) slot * slotSeconds
+                            + random.nextInt(Math.max(1, slotSeconds / 2)));
+                    LocalDateTime end = start.plusSeconds(1 + random.nextInt(Math.max(1, slotSeconds / 2 - 1)));
+                    return new Object[]{
+                            (long) i,
+                            BOOKING_STATUSES[random.nextInt(BOOKING_STATUSES.length)].name(),
+                            (long) random.nextInt(users) + 1,
+                            (long) (i - 1) % items + 1,
+                            Timestamp.valueOf(start),
+                            Timestamp.valueOf(end)
+                    };
+                });
+    }
+
+    private void restartSequence(String sequence, int lastId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (lastId + 1));
+    }
+
+    private void batchInsert(String sql, int count, IntFunction<Object[]> row) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= count; i++) {
+            batch.add(row.apply(i));
+            if (batch.size() == BATCH_SIZE || i == count) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load against a running gateway or server: every JMH thread is a client that waits for its response
+ * before sending the next request, so {@code -t 5000} keeps 5000 requests in flight. With that many threads the
+ * JMH score is dominated by how late each one joins and leaves an iteration, so every iteration also prints its own
+ * rate of successful and failed requests; the peak heap and platform thread count of the target, polled from its
+ * actuator, are printed after the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class HttpLoadBenchmark {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Param("http://localhost:8080")
+    public String baseUrl;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong ok = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong peakHeap = new AtomicLong();
+    private final AtomicLong peakThreads = new AtomicLong();
+    private long iterationStart;
+    private HttpClient client;
+    private HttpRequest getBooking;
+    private ScheduledExecutorService sampler;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        long suffix = System.nanoTime();
+        long ownerId = post("/users", null, Map.of("name", "Load owner", "email", "owner" + suffix + "@shareit.ru"));
+        long bookerId = post("/users", null, Map.of("name", "Load booker", "email", "booker" + suffix + "@shareit.ru"));
+        long itemId = post("/items", ownerId, Map.of("name", "Drill", "description", "Load test drill",
+                "available", true));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        long bookingId = post("/bookings", bookerId, Map.of("itemId", itemId,
+                "start", start.toString(), "end", start.plusHours(1).toString()));
+        getBooking = HttpRequest.newBuilder(URI.create(baseUrl + "/bookings/" + bookingId))
+                .header(USER_HEADER, String.valueOf(bookerId))
+                .build();
+
+        sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleWithFixedDelay(() -> {
+            peakHeap.accumulateAndGet(metric("jvm.memory.used?tag=area:heap"), Math::max);
+            peakThreads.accumulateAndGet(metric("jvm.threads.live"), Math::max);
+        }, 0, 1, TimeUnit.SECONDS);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounts() {
+        ok.set(0);
+        failed.set(0);
+        iterationStart = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printCounts() {
+        double seconds = (System.nanoTime() - iterationStart) / 1e9;
+        System.out.printf("(ok %.0f/s, failed %.0f/s) ", ok.get() / seconds, failed.get() / seconds);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sampler.shutdownNow();
+        System.out.printf("%npeak heap used %d MB, peak live platform threads %d%n",
+                peakHeap.get() / 1024 / 1024, peakThreads.get());
+    }
+
+    @Benchmark
+    public int getBooking() throws InterruptedException {
+        try {
+            int status = client.send(getBooking, HttpResponse.BodyHandlers.discarding()).statusCode();
+            (status == 200 ? ok : failed).incrementAndGet();
+            return status;
+        } catch (IOException e) {
+            failed.incrementAndGet();
+            return -1;
+        }
+    }
+
+    private long post(String path, Long userId, Map<String, Object> body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (userId != null) {
+            request.header(USER_HEADER, String.valueOf(userId));
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200 && response.statusCode() != 201) {
+            throw new IllegalStateException(path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    private long metric(String name) {
+        try {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonNode measurements = objectMapper.readTree(response.body()).get("measurements");
+            return measurements != null ? measurements.get(0).get("value").asLong() : 0;
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.server.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.benchmarks.ServerState.BOOKER_ID;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBenchmark {
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    @Param("50")
+    public int batchSize;
+
+    private final AtomicLong counter = new AtomicLong();
+    private List<Long> itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+        itemIds = server.jdbcTemplate.queryForList(
+                "select id from items where is_available = true and owner_id <> ? order by id", Long.class, BOOKER_ID);
+        itemIds = itemIds.subList(0, Math.min(batchSize, itemIds.size()));
+    }
+
+    // Keeps the overlap check of createBookings from scanning an ever growing booking history
+    @TearDown(Level.Iteration)
+    public void tearDown(ServerState server) {
+        server.jdbcTemplate.update("delete from bookings where start_date >= ?", FIRST_SLOT);
+    }
+
+    @Benchmark
+    public UserDto createUser(ServerState server) {
+        long n = counter.incrementAndGet();
+        return server.userService.create(UserDto.builder()
+                .name("Inserted user " + n)
+                .email("inserted" + n + "@shareit.ru")
+                .build());
+    }
+
+    @Benchmark
+    public List<BookingBatchResultDto> createBookings(ServerState server) {
+        LocalDateTime start = FIRST_SLOT.plusHours(counter.incrementAndGet());
+        List<BookingDto> bookings = itemIds.stream()
+                .map(itemId -> BookingDto.builder()
+                        .itemId(itemId)
+                        .start(start)
+                        .end(start.plusMinutes(30))
+                        .build())
+                .collect(Collectors.toList());
+        return server.bookingService.createAll(BOOKER_ID, bookings);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.dto.ItemInfoDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmarks.ServerState.OWNER_ID;
+import static ru.practicum.shareit.benchmarks.ServerState.PAGE_SIZE;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Benchmark
+    public List<ItemDto> search(ServerState server) {
+        return server.itemService.search(OWNER_ID, DatasetGenerator.SEARCH_TEXT, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemInfoDto> getAll(ServerState server) {
+        return server.itemService.getAll(OWNER_ID, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemInfoDto getById(ServerState server, ItemCursor cursor) {
+        return server.itemService.getById(OWNER_ID, cursor.next());
+    }
+
+    /**
+     * Cycles through the first {@code hotItems} items, the ones being viewed over and over.
+     */
+    @State(Scope.Thread)
+    public static class ItemCursor {
+        @Param("100")
+        public int hotItems;
+        private long itemId;
+
+        long next() {
+            itemId = itemId % hotItems + 1;
+            return itemId;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.server.booking.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static ru.practicum.shareit.benchmarks.ServerState.PAGE_SIZE;
+
+/**
+ * Last and next bookings of a page of items, the lookups behind item listings. Meant to be run with a long booking
+ * history per item, e.g. {@code -p items=20 -p bookings=2000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LastNextBookingBenchmark {
+    private List<Long> itemIds;
+
+    @Setup
+    public void setUp(ServerState server) {
+        itemIds = LongStream.rangeClosed(1, Math.min(server.items, PAGE_SIZE)).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Booking> findLast(ServerState server) {
+        return server.bookingRepository.findLastByItemIdIn(itemIds, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<Booking> findNext(ServerState server) {
+        return server.bookingRepository.findNextByItemIdIn(itemIds, LocalDateTime.now());
+    }
+}
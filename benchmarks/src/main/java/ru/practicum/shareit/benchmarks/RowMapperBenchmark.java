@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.server.booking.Booking;
+import ru.practicum.shareit.server.booking.BookingRowMapper;
+import ru.practicum.shareit.server.booking.BookingState;
+import ru.practicum.shareit.server.booking.BookingView;
+import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.comment.CommentRowMapper;
+import ru.practicum.shareit.server.comment.CommentView;
+import ru.practicum.shareit.server.comment.dto.CommentDto;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemInfo;
+import ru.practicum.shareit.server.item.ItemRowMapper;
+import ru.practicum.shareit.server.item.ItemView;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.dto.ItemInfoDto;
+import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserRowMapper;
+import ru.practicum.shareit.server.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+    private final UserRowMapper userRowMapper = new UserRowMapper();
+    private final ItemRowMapper itemRowMapper = new ItemRowMapper();
+    private final BookingRowMapper bookingRowMapper = new BookingRowMapper();
+    private final CommentRowMapper commentRowMapper = new CommentRowMapper();
+
+    private User owner;
+    private ItemView itemView;
+    private BookingView bookingView;
+    private Booking booking;
+    private CommentView commentView;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = User.builder().id(1L).name("owner").email("owner@shareit.ru").build();
+        User booker = User.builder().id(2L).name("booker").email("booker@shareit.ru").build();
+        Item item = Item.builder()
+                .id(1L)
+                .name("Drill")
+                .description("Power drill")
+                .available(true)
+                .owner(owner)
+                .build();
+        itemView = ItemView.of(item);
+        booking = Booking.builder()
+                .id(1L)
+                .start(now.minusDays(1))
+                .end(now.plusDays(1))
+                .status(BookingState.APPROVED)
+                .booker(booker)
+                .item(item)
+                .build();
+        bookingView = new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booker.getId(), booker.getName(), booker.getEmail(),
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                owner.getId(), owner.getName(), owner.getEmail(), null);
+        commentView = new CommentView(1L, "Works fine", booker.getName(), now, item.getId());
+    }
+
+    @Benchmark
+    public UserDto toUserDto() {
+        return userRowMapper.toUserDto(owner);
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return itemRowMapper.toItemDto(itemView);
+    }
+
+    @Benchmark
+    public ItemInfoDto toItemInfoDto() {
+        return itemRowMapper.toItemInfoDto(
+                itemView,
+                List.of(commentRowMapper.toCommentDto(commentView)),
+                bookingRowMapper.toBookingInfoDto(ItemInfo.BookingRef.of(booking)),
+                null
+        );
+    }
+
+    @Benchmark
+    public BookingDto toBookingDto() {
+        return bookingRowMapper.toBookingDto(bookingView, itemRowMapper.toItemDto(bookingView.getItem()));
+    }
+
+    @Benchmark
+    public CommentDto toCommentDto() {
+        return commentRowMapper.toCommentDto(commentView);
+    }
+}
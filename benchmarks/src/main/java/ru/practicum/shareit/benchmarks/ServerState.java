@@ -0,0 +1,89 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.server.ShareItServer;
+import ru.practicum.shareit.server.booking.BookingRepository;
+import ru.practicum.shareit.server.booking.BookingService;
+import ru.practicum.shareit.server.item.ItemService;
+import ru.practicum.shareit.server.user.UserService;
+
+@State(Scope.Benchmark)
+public class ServerState {
+    public static final long OWNER_ID = 1L;
+    public static final long BOOKER_ID = 2L;
+    public static final int PAGE_SIZE = 20;
+    public static final String SCHEMA = "benchmarks";
+
+    @Param("100")
+    public int users;
+    @Param("1000")
+    public int items;
+    @Param("10000")
+    public int bookings;
+    @Param("jdbc:h2:mem:benchmarks")
+    public String url;
+    @Param("none")
+    public String cache;
+    @Param("false")
+    public boolean allowClean;
+
+    UserService userService;
+    ItemService itemService;
+    BookingService bookingService;
+    BookingRepository bookingRepository;
+    JdbcTemplate jdbcTemplate;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean inMemory = url.startsWith("jdbc:h2:mem:");
+        if (!inMemory && !allowClean) {
+            throw new IllegalStateException("Refusing to drop the " + SCHEMA + " schema of " + url
+                    + ", pass -p allowClean=true to run against it");
+        }
+        boolean h2 = url.startsWith("jdbc:h2:");
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.flyway.clean-disabled=false",
+                        "spring.cache.type=" + cache,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN"
+                );
+        if (h2) {
+            builder.profiles("ci");
+        } else {
+            // Extensions belong to the whole database: keep them in public, where the server's own migrations
+            // expect them, instead of letting the migrations create them in the schema every run drops
+            builder.properties(
+                    "spring.flyway.schemas=" + SCHEMA,
+                    "spring.flyway.init-sqls=CREATE EXTENSION IF NOT EXISTS pg_trgm SCHEMA public;"
+                            + "CREATE EXTENSION IF NOT EXISTS btree_gist SCHEMA public"
+            );
+        }
+        // A command line argument, so that it overrides the datasource of application.properties
+        context = builder.run("--spring.datasource.url="
+                + (h2 ? url : url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA + ",public"));
+        // Every fork starts from an empty schema; outside H2 only the dedicated benchmark schema is dropped
+        Flyway flyway = context.getBean(Flyway.class);
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        new DatasetGenerator(jdbcTemplate).generate(users, items, bookings);
+        userService = context.getBean(UserService.class);
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
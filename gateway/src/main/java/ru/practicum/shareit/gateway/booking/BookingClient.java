@@ -1,61 +1,103 @@
 package ru.practicum.shareit.gateway.booking;
 
+import io.opentelemetry.api.OpenTelemetry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.booking.dto.BookingBatchDto;
 import ru.practicum.shareit.gateway.booking.dto.BookingDto;
 import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.ResponseCache;
 
 import java.util.Map;
 
+import static ru.practicum.shareit.gateway.client.ResponseCache.BOOKINGS;
+
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private final ResponseCache responseCache;
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         @Value("${shareit-server.non-blocking}") boolean nonBlocking,
+                         RestTemplateBuilder builder,
+                         HttpComponentsClientHttpRequestFactory requestFactory,
+                         WebClient.Builder webClientBuilder,
+                         OpenTelemetry openTelemetry,
+                         ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                nonBlocking ? webClientBuilder.baseUrl(serverUrl + API_PREFIX).build() : null,
+                openTelemetry
         );
+        this.responseCache = responseCache;
+    }
+
+    public Mono<ResponseEntity<Object>> create(Long bookerId, BookingDto bookingDto) {
+        return responseCache.evictOnWrite(BOOKINGS, post("", bookerId, bookingDto));
     }
 
-    public ResponseEntity<Object> create(Long bookerId, BookingDto bookingDto) {
-        return post("", bookerId, bookingDto);
+    public Mono<ResponseEntity<Object>> createAll(Long bookerId, BookingBatchDto bookingBatchDto) {
+        return responseCache.evictOnWrite(BOOKINGS, post("/batch", bookerId, bookingBatchDto));
     }
 
-    public ResponseEntity<Object> updateStatus(Long userId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> updateStatus(Long userId, Long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        return responseCache.evictOnWrite(BOOKINGS,
+                patch("/" + bookingId + "?approved={approved}", userId, parameters, null));
     }
 
-    public ResponseEntity<Object> getById(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllByBookerId(Long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllByBookerId(Long userId, String state, Integer from, Integer size, String cursor) {
+        return getPage("", userId, state, from, size, cursor);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByOwnerId(Long userId, String state, Integer from, Integer size, String cursor) {
+        return getPage("/owner", userId, state, from, size, cursor);
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnerStats(Long userId) {
+        return get("/owner/stats", userId);
+    }
+
+    public Mono<ResponseEntity<StreamingResponseBody>> exportAllByBookerId(Long userId, String state) {
+        return stream("/export?state={state}", userId, Map.of("state", state));
+    }
+
+    public Mono<ResponseEntity<StreamingResponseBody>> exportAllByOwnerId(Long userId, String state) {
+        return stream("/owner/export?state={state}", userId, Map.of("state", state));
     }
 
-    public ResponseEntity<Object> getAllByOwnerId(Long userId, String state, Integer from, Integer size) {
+    private Mono<ResponseEntity<Object>> getPage(String path, Long userId, String state, Integer from, Integer size, String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state,
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get(path + "?state={state}&cursor={cursor}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
     }
 }
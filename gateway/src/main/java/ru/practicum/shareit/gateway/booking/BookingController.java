@@ -5,6 +5,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.booking.dto.BookingBatchDto;
 import ru.practicum.shareit.gateway.booking.dto.BookingDto;
 
 import javax.validation.constraints.Positive;
@@ -17,37 +20,62 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @Validated @RequestBody BookingDto bookingDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @Validated @RequestBody BookingDto bookingDto) {
         return bookingClient.create(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                  @Validated @RequestBody BookingBatchDto bookingBatchDto) {
+        return bookingClient.createAll(userId, bookingBatchDto);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                               @PathVariable Long bookingId,
-                                               @RequestParam Boolean approved) {
+    public Mono<ResponseEntity<Object>> updateStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                     @PathVariable Long bookingId,
+                                                     @RequestParam Boolean approved) {
         return bookingClient.updateStatus(userId, bookingId, approved);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @PathVariable Long bookingId) {
         return bookingClient.getById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(defaultValue = "ALL") String state,
-                                                   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        return bookingClient.getAllByBookerId(userId, state, from, size);
+    public Mono<ResponseEntity<Object>> getAllByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                         @RequestParam(defaultValue = "ALL") String state,
+                                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                         @RequestParam(name = "cursor", required = false) String cursor) {
+        return bookingClient.getAllByBookerId(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    private ResponseEntity<Object> getAllByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(defaultValue = "ALL") String state,
-                                                   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        return bookingClient.getAllByOwnerId(userId, state, from, size);
+    private Mono<ResponseEntity<Object>> getAllByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                         @RequestParam(defaultValue = "ALL") String state,
+                                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                         @RequestParam(name = "cursor", required = false) String cursor) {
+        return bookingClient.getAllByOwnerId(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<StreamingResponseBody>> exportAllByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                           @RequestParam(defaultValue = "ALL") String state) {
+        return bookingClient.exportAllByBookerId(userId, state);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<StreamingResponseBody>> exportAllByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                          @RequestParam(defaultValue = "ALL") String state) {
+        return bookingClient.exportAllByOwnerId(userId, state);
+    }
+
+    @GetMapping("/owner/stats")
+    public Mono<ResponseEntity<Object>> getOwnerStats(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingClient.getOwnerStats(userId);
     }
 }
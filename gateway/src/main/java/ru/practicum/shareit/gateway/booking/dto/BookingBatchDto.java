@@ -0,0 +1,26 @@
+package ru.practicum.shareit.gateway.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+public class BookingBatchDto {
+    public static final int MAX_SIZE = 100;
+
+    @NotEmpty
+    @Size(max = MAX_SIZE)
+    @JsonValue
+    private final List<@Valid @NotNull BookingDto> bookings;
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public BookingBatchDto(List<BookingDto> bookings) {
+        this.bookings = bookings;
+    }
+}
@@ -1,120 +1,328 @@
 package ru.practicum.shareit.gateway.client;
 
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
 public class BaseClient {
+    private static final TextMapSetter<HttpHeaders> HEADERS = (headers, key, value) -> headers.set(key, value);
+    private static final int STREAM_PREFETCH = 16;
+    private static final Set<String> CONNECTION_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        CONNECTION_HEADERS.addAll(List.of(HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.UPGRADE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.DATE));
+    }
+
     protected final RestTemplate rest;
+    @Nullable
+    protected final WebClient webClient;
+    private final OpenTelemetry openTelemetry;
+    private final Tracer tracer;
 
     public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+        this(rest, null, OpenTelemetry.noop());
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    public BaseClient(RestTemplate rest, @Nullable WebClient webClient, OpenTelemetry openTelemetry) {
+        this.rest = rest;
+        this.webClient = webClient;
+        this.openTelemetry = openTelemetry;
+        this.tracer = openTelemetry.getTracer(BaseClient.class.getName());
+    }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    /**
+     * Passes the server's response on as it was received: the body stays the raw bytes the server wrote, and only the
+     * headers that describe the connection rather than the response are dropped.
+     */
+    private static ResponseEntity<Object> relay(int status, @Nullable HttpHeaders headers, @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!CONNECTION_HEADERS.contains(name)) {
+                    response.header(name, values.toArray(String[]::new));
+                }
+            });
         }
-
-        return responseBuilder.build();
+        return body != null ? response.body(body) : response.build();
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId,
-                                         @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId,
+                                               @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId,
-                                              @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId,
+                                                    @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId,
-                                             @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId,
+                                                   @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId,
-                                               @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId,
+                                                     @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
-                                                          @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    /**
+     * Relays the response as it arrives, for bodies too large to be read into memory first.
+     */
+    protected Mono<ResponseEntity<StreamingResponseBody>> stream(String path, long userId,
+                                                                 Map<String, Object> parameters) {
+        if (webClient != null) {
+            Context parent = Context.current();
+            return Mono.defer(() -> {
+                Span span = startSpan(parent, HttpMethod.GET, path);
+                return webClient.get()
+                        .uri(path, parameters)
+                        .headers(headers -> headers.addAll(defaultHeaders(userId, span)))
+                        .retrieve()
+                        .onStatus(status -> true, response -> Mono.empty())
+                        .toEntityFlux(DataBuffer.class)
+                        .map(response -> toStreamingResponse(response.getStatusCode(),
+                                response.getHeaders().getContentType(), span,
+                                out -> copy(response.getBody(), out)))
+                        .doOnError(e -> {
+                            span.recordException(e);
+                            span.setStatus(StatusCode.ERROR);
+                            span.end();
+                        });
+            });
+        }
+        Span span = startSpan(Context.current(), HttpMethod.GET, path);
+        try {
+            ClientHttpRequest request = rest.getRequestFactory()
+                    .createRequest(rest.getUriTemplateHandler().expand(path, parameters), HttpMethod.GET);
+            request.getHeaders().addAll(defaultHeaders(userId, span));
+            ClientHttpResponse response = request.execute();
+            return Mono.just(toStreamingResponse(HttpStatus.valueOf(response.getRawStatusCode()),
+                    response.getHeaders().getContentType(), span,
+                    out -> {
+                        try (response) {
+                            StreamUtils.copy(response.getBody(), out);
+                        }
+                    }));
+        } catch (IOException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            span.end();
+            throw new ResourceAccessException("I/O error on GET request for \"" + path + "\": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copies the body on the servlet container's async thread. Each buffer is copied out and released as soon as it
+     * arrives, so neither an error nor a client that goes away leaves pooled buffers behind, and at most
+     * {@code STREAM_PREFETCH} chunks wait for a slow client before the server connection is paused. Closing the stream
+     * cancels the exchange.
+     */
+    private static void copy(@Nullable Flux<DataBuffer> body, OutputStream out) throws IOException {
+        if (body == null) {
+            return;
+        }
+        try (Stream<byte[]> chunks = body.map(BaseClient::toBytes).toStream(STREAM_PREFETCH)) {
+            Iterator<byte[]> iterator = chunks.iterator();
+            while (iterator.hasNext()) {
+                out.write(iterator.next());
+            }
+        }
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private static byte[] toBytes(DataBuffer buffer) {
         try {
-            shareitServerResponse = parameters != null
-                    ? rest.exchange(path, method, requestEntity, Object.class, parameters)
-                    : rest.exchange(path, method, requestEntity, Object.class);
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> toStreamingResponse(HttpStatus status,
+                                                                             @Nullable MediaType contentType,
+                                                                             Span span, StreamingResponseBody body) {
+        span.setAttribute("http.status_code", status.value());
+        if (status.is5xxServerError()) {
+            span.setStatus(StatusCode.ERROR);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (contentType != null) {
+            response.contentType(contentType);
+        }
+        return response.body(out -> {
+            try {
+                body.writeTo(out);
+            } catch (IOException | RuntimeException e) {
+                span.recordException(e);
+                span.setStatus(StatusCode.ERROR);
+                throw e;
+            } finally {
+                span.end();
+            }
+        });
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (webClient != null) {
+            Context parent = Context.current();
+            return Mono.defer(() -> {
+                Span span = startSpan(parent, method, path);
+                return sendNonBlocking(webClient, method, path, userId, parameters, body, span)
+                        .doOnNext(response -> setStatus(span, response))
+                        .doOnError(e -> {
+                            span.recordException(e);
+                            span.setStatus(StatusCode.ERROR);
+                        })
+                        .doFinally(signal -> span.end());
+            });
+        }
+        Span span = startSpan(Context.current(), method, path);
+        try {
+            ResponseEntity<Object> response = sendBlocking(method, path, userId, parameters, body, span);
+            setStatus(span, response);
+            return Mono.just(response);
+        } catch (RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private Span startSpan(Context parent, HttpMethod method, String path) {
+        int query = path.indexOf('?');
+        return tracer.spanBuilder(getClass().getSimpleName() + " " + method.name() + " "
+                        + (query >= 0 ? path.substring(0, query) : path))
+                .setParent(parent)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("http.method", method.name())
+                .startSpan();
+    }
+
+    private static void setStatus(Span span, ResponseEntity<Object> response) {
+        span.setAttribute("http.status_code", response.getStatusCodeValue());
+        if (response.getStatusCode().is5xxServerError()) {
+            span.setStatus(StatusCode.ERROR);
+        }
+    }
+
+    private <T> ResponseEntity<Object> sendBlocking(HttpMethod method, String path, Long userId,
+                                                    @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                    Span span) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId, span));
+
+        RequestCallback requestCallback = rest.httpEntityCallback(requestEntity);
+        ResponseExtractor<ResponseEntity<Object>> responseExtractor = response ->
+                relay(response.getRawStatusCode(), response.getHeaders(), response.getBody().readAllBytes());
+        try {
+            return parameters != null
+                    ? rest.execute(path, method, requestCallback, responseExtractor, parameters)
+                    : rest.execute(path, method, requestCallback, responseExtractor);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return relay(e.getRawStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private <T> Mono<ResponseEntity<Object>> sendNonBlocking(WebClient client, HttpMethod method, String path, Long userId,
+                                                             @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                             Span span) {
+        WebClient.RequestBodySpec request = (parameters != null
+                ? client.method(method).uri(path, parameters)
+                : client.method(method).uri(path))
+                .headers(headers -> headers.addAll(defaultHeaders(userId, span)));
+
+        return (body != null ? request.bodyValue(body) : request)
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> relay(response.getStatusCodeValue(), response.getHeaders(), response.getBody()));
+    }
+
+    private HttpHeaders defaultHeaders(Long userId, Span span) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        openTelemetry.getPropagators().getTextMapPropagator()
+                .inject(Context.current().with(span), headers, HEADERS);
         return headers;
     }
 }
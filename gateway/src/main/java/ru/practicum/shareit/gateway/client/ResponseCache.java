@@ -0,0 +1,88 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class ResponseCache {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+    public static final String BOOKINGS = "bookings";
+
+    private static final Map<String, List<String>> AFFECTED_BY_WRITE = Map.of(
+            USERS, List.of(USERS, ITEMS, REQUESTS),
+            ITEMS, List.of(ITEMS, REQUESTS),
+            REQUESTS, List.of(REQUESTS),
+            BOOKINGS, List.of(ITEMS)
+    );
+
+    private final Map<String, Region> regions;
+
+    public ResponseCache(@Value("${gateway.cache.max-size}") long maxSize,
+                         @Value("${gateway.cache.ttl.users}") Duration usersTtl,
+                         @Value("${gateway.cache.ttl.items}") Duration itemsTtl,
+                         @Value("${gateway.cache.ttl.requests}") Duration requestsTtl) {
+        this.regions = Map.of(
+                USERS, new Region(maxSize, usersTtl),
+                ITEMS, new Region(maxSize, itemsTtl),
+                REQUESTS, new Region(maxSize, requestsTtl)
+        );
+    }
+
+    public static String key(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters) {
+        return path + (parameters != null ? new TreeMap<>(parameters) : "") + "|" + userId;
+    }
+
+    public Mono<ResponseEntity<Object>> get(String region, String key,
+                                            Supplier<Mono<ResponseEntity<Object>>> loader) {
+        Region cache = regions.get(region);
+        ResponseEntity<Object> cached = cache.entries.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long generation = cache.generation.get();
+        return loader.get().doOnNext(response -> {
+            if (response.getStatusCode().is2xxSuccessful() && cache.generation.get() == generation) {
+                cache.entries.put(key, response);
+            }
+        });
+    }
+
+    public Mono<ResponseEntity<Object>> evictOnWrite(String resource, Mono<ResponseEntity<Object>> write) {
+        return write.doOnNext(response -> {
+            if (response.getStatusCode().is2xxSuccessful()) {
+                AFFECTED_BY_WRITE.get(resource).forEach(region -> regions.get(region).invalidate());
+            }
+        });
+    }
+
+    private static class Region {
+        private final Cache<String, ResponseEntity<Object>> entries;
+        private final AtomicLong generation = new AtomicLong();
+
+        Region(long maxSize, Duration ttl) {
+            this.entries = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .build();
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            entries.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical reads share one call to the server: the first caller for a key makes the call, and every
+ * caller arriving while it is in flight gets the same response. Only the routes listed in
+ * {@code gateway.single-flight.routes} are coalesced.
+ */
+@Component
+public class SingleFlight {
+    public static final String ITEM = "item";
+    public static final String ITEM_SEARCH = "item-search";
+
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> calls = new ConcurrentHashMap<>();
+    private final Map<String, Counter> led = new HashMap<>();
+    private final Map<String, Counter> shared = new HashMap<>();
+
+    public SingleFlight(@Value("${gateway.single-flight.routes}") List<String> routes, MeterRegistry meterRegistry) {
+        for (String route : routes) {
+            led.put(route, counter(meterRegistry, route, "led"));
+            shared.put(route, counter(meterRegistry, route, "shared"));
+        }
+    }
+
+    public Mono<ResponseEntity<Object>> get(String route, String key,
+                                            Supplier<Mono<ResponseEntity<Object>>> loader) {
+        Counter leader = led.get(route);
+        if (leader == null) {
+            return loader.get();
+        }
+        String callKey = route + ":" + key;
+        CompletableFuture<ResponseEntity<Object>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> inFlight = calls.putIfAbsent(callKey, call);
+        if (inFlight != null) {
+            shared.get(route).increment();
+            return Mono.fromFuture(inFlight.copy());
+        }
+        leader.increment();
+        call.whenComplete((response, e) -> calls.remove(callKey, call));
+        try {
+            loader.get().subscribe(call::complete, call::completeExceptionally, () -> call.complete(null));
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+        }
+        return Mono.fromFuture(call.copy());
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String route, String result) {
+        return Counter.builder("gateway.single-flight.requests")
+                .tag("route", route)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
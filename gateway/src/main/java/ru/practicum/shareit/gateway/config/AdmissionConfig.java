@@ -0,0 +1,51 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class AdmissionConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(
+            @Value("${gateway.rate-limit.bookings.rate}") double bookingsRate,
+            @Value("${gateway.rate-limit.bookings.burst}") int bookingsBurst,
+            @Value("${gateway.rate-limit.search.rate}") double searchRate,
+            @Value("${gateway.rate-limit.search.burst}") int searchBurst,
+            @Value("${gateway.rate-limit.max-users}") long maxUsers,
+            @Value("${gateway.rate-limit.idle-timeout}") Duration idleTimeout,
+            @Value("${shareit-server.http.max-per-route}") int maxConnections,
+            @Value("${shareit-server.db.max-connections}") int maxServerDbConnections,
+            @Value("${gateway.admission.max-concurrent-requests}") int maxConcurrentRequests,
+            @Value("${gateway.admission.max-concurrent-exports}") int maxConcurrentExports,
+            MeterRegistry meterRegistry) {
+        // Every admitted request may hold one of the connections to the server
+        if (maxConcurrentRequests + maxConcurrentExports > maxConnections) {
+            throw new IllegalStateException("gateway.admission.max-concurrent-requests and max-concurrent-exports " +
+                    "together exceed shareit-server.http.max-per-route=" + maxConnections);
+        }
+        // An export holds a database connection of the server for as long as it streams
+        if (maxConcurrentExports >= maxServerDbConnections) {
+            throw new IllegalStateException("gateway.admission.max-concurrent-exports must stay below " +
+                    "shareit-server.db.max-connections=" + maxServerDbConnections);
+        }
+        Map<String, RateLimiter> rateLimiters = Map.of(
+                AdmissionFilter.BOOKINGS, new RateLimiter(bookingsRate, bookingsBurst, maxUsers, idleTimeout),
+                AdmissionFilter.SEARCH, new RateLimiter(searchRate, searchBurst, maxUsers, idleTimeout)
+        );
+        Bulkhead requests = new Bulkhead(maxConcurrentRequests);
+        Bulkhead exports = new Bulkhead(maxConcurrentExports);
+        FilterRegistrationBean<AdmissionFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionFilter(rateLimiters, requests, exports, meterRegistry));
+        // Before the ETag and tracing filters, but after the metrics filter so that rejections are still counted
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects a request with 429 once its user has used up the rate of its route class, and with 503 once the gateway
+ * already has as many requests in flight as it may send to the server, so that bursts are shed here instead of
+ * queueing for the server's connection pools. Exports stream for minutes, so they get a bulkhead of their own and
+ * cannot starve other requests. A permit is held until the response has been written, which for asynchronously
+ * completed requests happens in the async listener.
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+    public static final String BOOKINGS = "bookings";
+    public static final String SEARCH = "search";
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final Map<String, RateLimiter> rateLimiters;
+    private final Bulkhead requests;
+    private final Bulkhead exports;
+    private final MeterRegistry meterRegistry;
+
+    public AdmissionFilter(Map<String, RateLimiter> rateLimiters, Bulkhead requests, Bulkhead exports,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiters = rateLimiters;
+        this.requests = requests;
+        this.exports = exports;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.admission.in-flight", requests, Bulkhead::inFlight)
+                .tag("bulkhead", "requests")
+                .register(meterRegistry);
+        Gauge.builder("gateway.admission.in-flight", exports, Bulkhead::inFlight)
+                .tag("bulkhead", "exports")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String routeClass = routeClass(request.getRequestURI());
+        Long userId = userId(request);
+        if (routeClass != null && userId != null) {
+            long wait = rateLimiters.get(routeClass).tryAcquire(userId);
+            if (wait > 0) {
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, "Too many requests", routeClass, "rate-limit");
+                return;
+            }
+        }
+        Bulkhead bulkhead = request.getRequestURI().endsWith("/export") ? exports : requests;
+        Bulkhead.Permit permit = bulkhead.tryAcquire();
+        if (permit == null) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, bulkhead.nanosUntilFree(), "Server is busy",
+                    routeClass, "concurrency");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        permit.release();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    @Nullable
+    private static String routeClass(String uri) {
+        if (uri.startsWith("/bookings")) {
+            return BOOKINGS;
+        }
+        if (uri.equals("/items/search")) {
+            return SEARCH;
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Long userId(HttpServletRequest request) {
+        String header = request.getHeader(USER_HEADER);
+        try {
+            return header != null ? Long.valueOf(header) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long waitNanos, String error,
+                        @Nullable String routeClass, String reason) throws IOException {
+        Counter.builder("gateway.admission.rejected")
+                .tag("route", routeClass != null ? routeClass : "other")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"error\":\"" + error + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+}
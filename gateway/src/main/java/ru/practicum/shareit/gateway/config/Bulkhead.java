@@ -0,0 +1,54 @@
+package ru.practicum.shareit.gateway.config;
+
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps how many requests of one kind are in flight. It also keeps a moving average of how long a permit is held, so
+ * a rejected caller can be told roughly when the next permit frees up: with every permit taken, one is released
+ * every {@code averageHold / limit} on average.
+ */
+public class Bulkhead {
+    private static final int SMOOTHING = 8;
+
+    private final int limit;
+    private final Semaphore permits;
+    private final AtomicLong averageHoldNanos = new AtomicLong();
+
+    public Bulkhead(int limit) {
+        this.limit = limit;
+        this.permits = new Semaphore(limit);
+    }
+
+    /**
+     * @return the permit taken, or {@code null} if none was free
+     */
+    @Nullable
+    public Permit tryAcquire() {
+        return permits.tryAcquire() ? new Permit(System.nanoTime()) : null;
+    }
+
+    public long nanosUntilFree() {
+        return averageHoldNanos.get() / limit;
+    }
+
+    public int inFlight() {
+        return limit - permits.availablePermits();
+    }
+
+    public class Permit {
+        private final long acquiredAt;
+
+        private Permit(long acquiredAt) {
+            this.acquiredAt = acquiredAt;
+        }
+
+        public void release() {
+            long held = System.nanoTime() - acquiredAt;
+            averageHoldNanos.accumulateAndGet(held, (average, sample) -> average + (sample - average) / SMOOTHING);
+            permits.release();
+        }
+    }
+}
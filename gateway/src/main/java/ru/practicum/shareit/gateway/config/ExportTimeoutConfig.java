@@ -0,0 +1,40 @@
+package ru.practicum.shareit.gateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Exports stream a whole booking history and may run for many minutes, far longer than any other request should.
+ * Only their streaming phase gets {@code gateway.export.timeout}; every other async request keeps the default timeout.
+ */
+@Configuration
+public class ExportTimeoutConfig implements WebMvcConfigurer {
+    private final Duration exportTimeout;
+
+    public ExportTimeoutConfig(@Value("${gateway.export.timeout}") Duration exportTimeout) {
+        this.exportTimeout = exportTimeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+                if (request instanceof AsyncWebRequest && servletRequest != null
+                        && servletRequest.getRequestURI().endsWith("/export")) {
+                    ((AsyncWebRequest) request).setTimeout(exportTimeout.toMillis());
+                }
+            }
+        });
+    }
+}
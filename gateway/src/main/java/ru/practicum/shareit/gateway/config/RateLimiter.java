@@ -0,0 +1,48 @@
+package ru.practicum.shareit.gateway.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per user. A bucket is kept as the single instant at which it will be full again, so taking a token is
+ * one compare-and-set and nothing has to refill idle buckets. Buckets live in a bounded cache and are dropped once a
+ * user has been idle for {@code idleTimeout}.
+ */
+public class RateLimiter {
+    private final long tokenNanos;
+    private final long capacityNanos;
+    private final Cache<Long, AtomicLong> buckets;
+
+    public RateLimiter(double tokensPerSecond, int capacity, long maxUsers, Duration idleTimeout) {
+        this.tokenNanos = (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond);
+        this.capacityNanos = tokenNanos * capacity;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * Takes a token from the user's bucket.
+     *
+     * @return {@code 0} if a token was taken, otherwise the nanoseconds until the next one is available
+     */
+    public long tryAcquire(long userId) {
+        AtomicLong bucket = buckets.get(userId, id -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long fullAt = bucket.get();
+            long now = System.nanoTime();
+            long next = Math.max(fullAt, now) + tokenNanos;
+            if (next - now > capacityNanos) {
+                return next - now - capacityNanos;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.tracing.FileSpanExporter;
+import ru.practicum.shareit.tracing.TracingFilter;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Spans for incoming requests and the calls made to shareit-server, whose trace context is sent along with every
+ * request. Every {@link SpanExporter} bean receives the finished spans; without one nothing is recorded and only the
+ * trace context is passed on.
+ */
+@Configuration
+public class TracingConfig {
+    public static final String SERVICE_NAME = "shareit-gateway";
+
+    @Bean(destroyMethod = "close")
+    public SdkTracerProvider tracerProvider(ObjectProvider<SpanExporter> spanExporters) {
+        List<SpanExporter> exporters = spanExporters.orderedStream().collect(Collectors.toList());
+        SdkTracerProviderBuilder builder = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault()
+                        .merge(Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), SERVICE_NAME))))
+                .setSampler(exporters.isEmpty() ? Sampler.alwaysOff() : Sampler.parentBased(Sampler.alwaysOn()));
+        exporters.forEach(exporter -> builder.addSpanProcessor(BatchSpanProcessor.builder(exporter).build()));
+        return builder.build();
+    }
+
+    @Bean
+    public OpenTelemetry openTelemetry(SdkTracerProvider tracerProvider) {
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    @Bean
+    public Tracer tracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer(SERVICE_NAME);
+    }
+
+    @Bean
+    public TracingFilter tracingFilter(OpenTelemetry openTelemetry, Tracer tracer) {
+        return new TracingFilter(openTelemetry, tracer);
+    }
+
+    @Bean
+    @ConditionalOnProperty("shareit.tracing.file")
+    public SpanExporter fileSpanExporter(@Value("${shareit.tracing.file}") Path file) {
+        return new FileSpanExporter(file);
+    }
+}
@@ -1,42 +1,65 @@
 package ru.practicum.shareit.gateway.item;
 
+import io.opentelemetry.api.OpenTelemetry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.ResponseCache;
+import ru.practicum.shareit.gateway.client.SingleFlight;
 import ru.practicum.shareit.gateway.comment.CommentDto;
 import ru.practicum.shareit.gateway.item.dto.ItemDto;
 
 import java.util.Map;
 
+import static ru.practicum.shareit.gateway.client.ResponseCache.ITEMS;
+import static ru.practicum.shareit.gateway.client.SingleFlight.ITEM;
+import static ru.practicum.shareit.gateway.client.SingleFlight.ITEM_SEARCH;
+
 @Service
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
+    private final ResponseCache responseCache;
+    private final SingleFlight singleFlight;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.non-blocking}") boolean nonBlocking,
+                      RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory requestFactory,
+                      WebClient.Builder webClientBuilder,
+                      OpenTelemetry openTelemetry,
+                      ResponseCache responseCache,
+                      SingleFlight singleFlight) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                nonBlocking ? webClientBuilder.baseUrl(serverUrl + API_PREFIX).build() : null,
+                openTelemetry
         );
+        this.responseCache = responseCache;
+        this.singleFlight = singleFlight;
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemDto itemDto) {
+        return responseCache.evictOnWrite(ITEMS, post("", userId, itemDto));
     }
 
-    public ResponseEntity<Object> getById(Long userId, Long id) {
-        return get("/" + id, userId);
+    public Mono<ResponseEntity<Object>> getById(Long userId, Long id) {
+        String key = ResponseCache.key("/" + id, userId, null);
+        return responseCache.get(ITEMS, key, () -> singleFlight.get(ITEM, key, () -> get("/" + id, userId)));
     }
 
-    public ResponseEntity<Object> getAll(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAll(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -44,15 +67,29 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> update(Long userId, ItemDto itemDto, Long id) {
-        return patch("/" + id, userId, itemDto);
+    public Mono<ResponseEntity<Object>> update(Long userId, ItemDto itemDto, Long id) {
+        return responseCache.evictOnWrite(ITEMS, patch("/" + id, userId, itemDto));
+    }
+
+    public Mono<ResponseEntity<Object>> search(Long userId, String text, Integer from, Integer size) {
+        if (size == null) {
+            return search(userId, "/search?text={text}", Map.of("text", text));
+        }
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return search(userId, "/search?text={text}&from={from}&size={size}", parameters);
     }
 
-    public ResponseEntity<Object> search(Long userId, String text) {
-        return get("/search/?text=" + text, userId);
+    public Mono<ResponseEntity<Object>> addComment(Long userId, Long itemId, CommentDto commentDto) {
+        return responseCache.evictOnWrite(ITEMS, post("/" + itemId + "/comment", userId, commentDto));
     }
 
-    public ResponseEntity<Object> addComment(Long userId, Long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    private Mono<ResponseEntity<Object>> search(Long userId, String path, Map<String, Object> parameters) {
+        return responseCache.get(ITEMS, ResponseCache.key(path, userId, parameters),
+                () -> singleFlight.get(ITEM_SEARCH, ResponseCache.key(path, null, parameters),
+                        () -> get(path, userId, parameters)));
     }
 }
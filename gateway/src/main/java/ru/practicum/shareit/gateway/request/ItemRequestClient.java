@@ -1,40 +1,56 @@
 package ru.practicum.shareit.gateway.request;
 
+import io.opentelemetry.api.OpenTelemetry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.ResponseCache;
 import ru.practicum.shareit.gateway.request.dto.ItemRequestDto;
 
 import java.util.Map;
 
+import static ru.practicum.shareit.gateway.client.ResponseCache.REQUESTS;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
+    private final ResponseCache responseCache;
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             @Value("${shareit-server.non-blocking}") boolean nonBlocking,
+                             RestTemplateBuilder builder,
+                             HttpComponentsClientHttpRequestFactory requestFactory,
+                             WebClient.Builder webClientBuilder,
+                             OpenTelemetry openTelemetry,
+                             ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                nonBlocking ? webClientBuilder.baseUrl(serverUrl + API_PREFIX).build() : null,
+                openTelemetry
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemRequestDto itemRequestDto) {
-        return post("", userId, itemRequestDto);
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemRequestDto itemRequestDto) {
+        return responseCache.evictOnWrite(REQUESTS, post("", userId, itemRequestDto));
     }
 
-    public ResponseEntity<Object> getAllByUserId(Long userId) {
+    public Mono<ResponseEntity<Object>> getAllByUserId(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllWithPagination(Integer from, Integer size, Long userId) {
+    public Mono<ResponseEntity<Object>> getAllWithPagination(Integer from, Integer size, Long userId) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +58,8 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequestById(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getItemRequestById(Long userId, Long requestId) {
+        return responseCache.get(REQUESTS, ResponseCache.key("/" + requestId, userId, null),
+                () -> get("/" + requestId, userId));
     }
 }
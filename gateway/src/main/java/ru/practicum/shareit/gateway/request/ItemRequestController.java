@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.gateway.request.dto.ItemRequestDto;
 
 import javax.validation.constraints.Positive;
@@ -17,26 +18,26 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
-                                         @RequestBody @Validated ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                               @RequestBody @Validated ItemRequestDto itemRequestDto) {
         return itemRequestClient.create(userId, itemRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllByUser(@RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getAllByUser(@RequestHeader(value = "X-Sharer-User-Id") Long userId) {
         return itemRequestClient.getAllByUserId(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllWithPagination(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                       @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                       @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getAllWithPagination(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                             @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
         return itemRequestClient.getAllWithPagination(from, size, userId);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                     @PathVariable Long requestId) {
+    public Mono<ResponseEntity<Object>> getItemRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                           @PathVariable Long requestId) {
         return itemRequestClient.getItemRequestById(userId, requestId);
     }
 }
@@ -1,47 +1,63 @@
 package ru.practicum.shareit.gateway.user;
 
+import io.opentelemetry.api.OpenTelemetry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.ResponseCache;
 import ru.practicum.shareit.gateway.user.dto.UserDto;
 
+import static ru.practicum.shareit.gateway.client.ResponseCache.USERS;
+
 @Service
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
+    private final ResponseCache responseCache;
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.non-blocking}") boolean nonBlocking,
+                      RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory requestFactory,
+                      WebClient.Builder webClientBuilder,
+                      OpenTelemetry openTelemetry,
+                      ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                nonBlocking ? webClientBuilder.baseUrl(serverUrl + API_PREFIX).build() : null,
+                openTelemetry
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> create(UserDto userDto) {
-        return post("", userDto);
+    public Mono<ResponseEntity<Object>> create(UserDto userDto) {
+        return responseCache.evictOnWrite(USERS, post("", userDto));
     }
 
-    public ResponseEntity<Object> getById(Long id) {
-        return get("/" + id, id);
+    public Mono<ResponseEntity<Object>> getById(Long id) {
+        return responseCache.get(USERS, ResponseCache.key("/" + id, id, null), () -> get("/" + id, id));
     }
 
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         return get("");
     }
 
-    public ResponseEntity<Object> update(UserDto userDto, Long id) {
-        return patch("/" + id, userDto);
+    public Mono<ResponseEntity<Object>> update(UserDto userDto, Long id) {
+        return responseCache.evictOnWrite(USERS, patch("/" + id, userDto));
     }
 
-    public ResponseEntity<Object> delete(Long id) {
-        return delete("/" + id, id);
+    public Mono<ResponseEntity<Object>> delete(Long id) {
+        return responseCache.evictOnWrite(USERS, delete("/" + id, id));
     }
 }
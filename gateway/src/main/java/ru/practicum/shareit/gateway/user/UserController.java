@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.gateway.user.dto.UserDto;
 
 @RequiredArgsConstructor
@@ -13,27 +14,27 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Validated @RequestBody UserDto user) {
+    public Mono<ResponseEntity<Object>> create(@Validated @RequestBody UserDto user) {
         return userClient.create(user);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getById(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> getById(@PathVariable Long id) {
         return userClient.getById(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         return userClient.getAll();
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(@PathVariable Long id, @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable Long id, @RequestBody UserDto userDto) {
         return userClient.update(userDto, id);
     }
 
     @DeleteMapping("/{userId}")
-    public void delete(@PathVariable Long userId) {
-        userClient.delete(userId);
+    public Mono<ResponseEntity<Object>> delete(@PathVariable Long userId) {
+        return userClient.delete(userId);
     }
 }
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.gateway.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs every request on a virtual thread of its own instead of Tomcat's pool of platform threads. The blocking call
+ * to shareit-server is made on that thread, so waiting for the server no longer holds a platform thread. Only part
+ * of the java21 build.
+ */
+@Configuration
+@ConditionalOnProperty("shareit.virtual-threads.enabled")
+public class VirtualThreadsConfig {
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadExecutor() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tomcat-handler-", 0).factory()));
+    }
+
+    @Bean
+    public ConnectionLimitInterceptor connectionLimitInterceptor(
+            @Value("${shareit-server.http.max-per-route}") int maxPerRoute,
+            @Value("${shareit-server.http.pool-timeout}") Duration poolTimeout) {
+        return new ConnectionLimitInterceptor(maxPerRoute, poolTimeout);
+    }
+
+    @Bean
+    public RestTemplateCustomizer connectionLimit(ConnectionLimitInterceptor connectionLimitInterceptor) {
+        return restTemplate -> restTemplate.getInterceptors().add(connectionLimitInterceptor);
+    }
+}
@@ -1,17 +1,32 @@
 package ru.practicum.shareit.server.booking;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.server.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.booking.dto.BookingStatsDto;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 10;
 
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
@@ -19,6 +34,12 @@ public class BookingController {
         return bookingService.create(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @RequestBody List<BookingDto> bookingDtos) {
+        return bookingService.createAll(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto updateStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
                                    @PathVariable Long bookingId,
@@ -34,18 +55,79 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getAllByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestParam(defaultValue = "ALL", required = false) String state,
-                                             @RequestParam(required = false) Integer from,
-                                             @RequestParam(required = false) Integer size) {
-        return bookingService.getAllByBookerId(userId, state, from, size);
+    public ResponseEntity<List<BookingDto>> getAllByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(defaultValue = "ALL", required = false) String state,
+                                                             @RequestParam(required = false) Integer from,
+                                                             @RequestParam(required = false) Integer size,
+                                                             @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            int pageSize = size != null ? size : DEFAULT_CURSOR_PAGE_SIZE;
+            return toPage(bookingService.getAllByBookerIdAfter(userId, state, cursor, pageSize), pageSize);
+        }
+        return toPage(bookingService.getAllByBookerId(userId, state, from, size), size);
     }
 
     @GetMapping("/owner")
-    private List<BookingDto> getAllByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestParam(defaultValue = "ALL", required = false) String state,
-                                             @RequestParam(required = false) Integer from,
-                                             @RequestParam(required = false) Integer size) {
-        return bookingService.getAllByOwnerId(userId, state, from, size);
+    private ResponseEntity<List<BookingDto>> getAllByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(defaultValue = "ALL", required = false) String state,
+                                                             @RequestParam(required = false) Integer from,
+                                                             @RequestParam(required = false) Integer size,
+                                                             @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            int pageSize = size != null ? size : DEFAULT_CURSOR_PAGE_SIZE;
+            return toPage(bookingService.getAllByOwnerIdAfter(userId, state, cursor, pageSize), pageSize);
+        }
+        return toPage(bookingService.getAllByOwnerId(userId, state, from, size), size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAllByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                     @RequestParam(defaultValue = "ALL", required = false) String state) {
+        return toExport(action -> bookingService.exportAllByBookerId(userId, state, action));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportAllByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                    @RequestParam(defaultValue = "ALL", required = false) String state) {
+        return toExport(action -> bookingService.exportAllByOwnerId(userId, state, action));
+    }
+
+    @GetMapping("/owner/stats")
+    public BookingStatsDto getOwnerStats(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getOwnerStats(userId);
+    }
+
+    private ResponseEntity<StreamingResponseBody> toExport(Consumer<Consumer<BookingDto>> export) {
+        ObjectWriter writer = objectMapper.writerFor(BookingDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try {
+                export.accept(booking -> {
+                    try {
+                        writer.writeValue(out, booking);
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private ResponseEntity<List<BookingDto>> toPage(List<BookingDto> bookings, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (size != null && !bookings.isEmpty() && bookings.size() == size) {
+            BookingDto last = bookings.get(bookings.size() - 1);
+            if (last.getStart() != null) {
+                response.header(NEXT_CURSOR_HEADER, BookingCursor.of(last).encode());
+            }
+        }
+        return response.body(bookings);
     }
 }
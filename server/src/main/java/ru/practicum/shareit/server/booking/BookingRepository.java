@@ -1,34 +1,52 @@
 package ru.practicum.shareit.server.booking;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long userId, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStatusIsOrderByStartDesc(Long userId, BookingState status, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime now, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime now, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Long userId, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStatusIsOrderByStartDesc(Long userId, BookingState status, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime now, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime now, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findTop2ByItemOwnerIdAndItemIdOrderByStartAsc(Long userId, Long itemId);
-
-    Optional<Booking> findFirstByBookerIdAndItemIdAndEndBefore(Long userId, Long itemId, LocalDateTime now);
+import static ru.practicum.shareit.server.config.CacheConfig.BOOKERS_CACHE;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    @Query(BookingView.SELECT + "where b.id = :id")
+    Optional<BookingView> findViewById(@Param("id") Long id);
+
+    /**
+     * Per item, the approved booking that started last, at or before {@code now}. Each item costs one index seek.
+     */
+    @Query(value = "select b.* from bookings b where b.id in (" +
+            "select (select lb.id from bookings lb " +
+            "where lb.item_id = i.id and lb.status = 'APPROVED' and lb.start_date <= :now " +
+            "order by lb.start_date desc, lb.id limit 1) " +
+            "from items i where i.id in :itemIds)", nativeQuery = true)
+    List<Booking> findLastByItemIdIn(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Per item, the booking that starts first after {@code now}. Each item costs one index seek.
+     */
+    @Query(value = "select b.* from bookings b where b.id in (" +
+            "select (select nb.id from bookings nb " +
+            "where nb.item_id = i.id and nb.start_date > :now " +
+            "order by nb.start_date, nb.id limit 1) " +
+            "from items i where i.id in :itemIds)", nativeQuery = true)
+    List<Booking> findNextByItemIdIn(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(Long itemId, Collection<BookingState> statuses,
+                                                               LocalDateTime end, LocalDateTime start);
+
+    List<Booking> findAllByItemIdInAndStatusInAndStartBeforeAndEndAfter(Collection<Long> itemIds,
+                                                                        Collection<BookingState> statuses,
+                                                                        LocalDateTime end, LocalDateTime start);
+
+    boolean existsByItemIdAndIdNotAndStatusInAndStartBeforeAndEndAfter(Long itemId, Long bookingId,
+                                                                       Collection<BookingState> statuses,
+                                                                       LocalDateTime end, LocalDateTime start);
+
+    @Cacheable(cacheNames = BOOKERS_CACHE, key = "{#p0, #p1}", unless = "!#result")
+    boolean existsByBookerIdAndItemIdAndEndBefore(Long userId, Long itemId, LocalDateTime now);
 }
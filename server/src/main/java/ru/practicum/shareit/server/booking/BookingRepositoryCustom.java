@@ -0,0 +1,24 @@
+package ru.practicum.shareit.server.booking;
+
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+    List<BookingView> findAllByRole(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                    Pageable pageable);
+
+    List<BookingView> findAllAfterCursor(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                         BookingCursor cursor, int size);
+
+    /**
+     * All bookings in the order of {@link #findAllByRole}, read through a forward-only cursor {@code fetchSize} rows at
+     * a time. The stream has to be consumed and closed within the transaction.
+     */
+    Stream<BookingView> streamAllByRole(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                        int fetchSize);
+
+    List<BookingStatsView> findStatsByOwnerId(Long ownerId, LocalDateTime now);
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.server.booking;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.request.ItemRequest;
+import ru.practicum.shareit.server.user.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private static final String USER_ID = "userId";
+    private static final String STATUS = "status";
+    private static final String NOW = "now";
+    private static final String CURSOR_START = "cursorStart";
+    private static final String CURSOR_ID = "cursorId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findAllByRole(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                           Pageable pageable) {
+        return createQuery(role, userId, state, now, null)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<BookingView> findAllAfterCursor(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                                BookingCursor cursor, int size) {
+        return createQuery(role, userId, state, now, cursor)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<BookingView> streamAllByRole(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                               int fetchSize) {
+        return createQuery(role, userId, state, now, null)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<BookingStatsView> findStatsByOwnerId(Long ownerId, LocalDateTime now) {
+        List<Object[]> rows = entityManager.createNativeQuery(BookingStatsView.SELECT +
+                        "WHERE i.owner_id = :ownerId GROUP BY i.id, i.name ORDER BY i.id")
+                .setParameter("ownerId", ownerId)
+                .setParameter(NOW, now)
+                .getResultList();
+        return rows.stream()
+                .map(BookingStatsView::of)
+                .collect(Collectors.toList());
+    }
+
+    private TypedQuery<BookingView> createQuery(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                                BookingCursor cursor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, User> booker = booking.join("booker");
+        Join<Booking, Item> item = booking.join("item");
+        Join<Item, User> owner = item.join("owner");
+        Join<Item, ItemRequest> request = item.join("itemRequest", JoinType.LEFT);
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Long> id = booking.get("id");
+
+        Map<String, Object> parameters = new HashMap<>();
+        List<Predicate> predicates = new ArrayList<>();
+
+        parameters.put(USER_ID, userId);
+        predicates.add(role == BookingRole.BOOKER
+                ? cb.equal(booking.get("booker").get("id"), cb.parameter(Long.class, USER_ID))
+                : cb.equal(item.get("owner").get("id"), cb.parameter(Long.class, USER_ID)));
+
+        switch (state) {
+            case APPROVED:
+            case WAITING:
+            case REJECTED:
+            case CANCELED: {
+                parameters.put(STATUS, state);
+                predicates.add(cb.equal(booking.get("status"), cb.parameter(BookingState.class, STATUS)));
+                break;
+            }
+            case FUTURE: {
+                parameters.put(NOW, now);
+                predicates.add(cb.greaterThan(start, cb.parameter(LocalDateTime.class, NOW)));
+                break;
+            }
+            case PAST: {
+                parameters.put(NOW, now);
+                predicates.add(cb.lessThan(end, cb.parameter(LocalDateTime.class, NOW)));
+                break;
+            }
+            case CURRENT: {
+                parameters.put(NOW, now);
+                predicates.add(cb.lessThan(start, cb.parameter(LocalDateTime.class, NOW)));
+                predicates.add(cb.greaterThan(end, cb.parameter(LocalDateTime.class, NOW)));
+                break;
+            }
+        }
+
+        if (cursor != null) {
+            parameters.put(CURSOR_START, cursor.getStart());
+            parameters.put(CURSOR_ID, cursor.getId());
+            ParameterExpression<LocalDateTime> cursorStart = cb.parameter(LocalDateTime.class, CURSOR_START);
+            predicates.add(cb.or(
+                    cb.lessThan(start, cursorStart),
+                    cb.and(cb.equal(start, cursorStart), cb.lessThan(id, cb.parameter(Long.class, CURSOR_ID)))));
+        }
+
+        query.select(cb.construct(BookingView.class,
+                        id, start, end, booking.get("status"),
+                        booker.get("id"), booker.get("name"), booker.get("email"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        owner.get("id"), owner.get("name"), owner.get("email"),
+                        request.get("id")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+
+        TypedQuery<BookingView> typedQuery = entityManager.createQuery(query);
+        parameters.forEach(typedQuery::setParameter);
+        return typedQuery;
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.server.booking;
+
+public enum BookingRole {
+    BOOKER,
+    OWNER
+}
@@ -3,11 +3,18 @@ package ru.practicum.shareit.server.booking;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
 import ru.practicum.shareit.server.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.server.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.server.booking.dto.ItemBookingStatsDto;
 import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemInfo;
 import ru.practicum.shareit.server.item.dto.ItemDto;
 import ru.practicum.shareit.server.user.User;
 import ru.practicum.shareit.server.user.dto.UserDto;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
 public class BookingRowMapper {
     public BookingDto toBookingDto(Booking booking, UserDto bookerDto, ItemDto itemDto) {
@@ -22,6 +29,57 @@ public class BookingRowMapper {
                 .build();
     }
 
+    public BookingDto toBookingDto(BookingView bookingView, ItemDto itemDto) {
+        return BookingDto.builder()
+                .id(bookingView.getId())
+                .itemId(itemDto.getId())
+                .start(bookingView.getStart())
+                .end(bookingView.getEnd())
+                .status(bookingView.getStatus())
+                .bookerDto(UserDto.builder()
+                        .id(bookingView.getBookerId())
+                        .name(bookingView.getBookerName())
+                        .email(bookingView.getBookerEmail())
+                        .build())
+                .itemDto(itemDto)
+                .build();
+    }
+
+    public ItemBookingStatsDto toItemBookingStatsDto(BookingStatsView statsView) {
+        Map<BookingState, Long> bookings = new EnumMap<>(BookingState.class);
+        bookings.put(BookingState.ALL, statsView.getTotal());
+        bookings.put(BookingState.WAITING, statsView.getWaiting());
+        bookings.put(BookingState.APPROVED, statsView.getApproved());
+        bookings.put(BookingState.REJECTED, statsView.getRejected());
+        bookings.put(BookingState.CANCELED, statsView.getCanceled());
+        bookings.put(BookingState.PAST, statsView.getPast());
+        bookings.put(BookingState.CURRENT, statsView.getCurrent());
+        bookings.put(BookingState.FUTURE, statsView.getFuture());
+        return ItemBookingStatsDto.builder()
+                .itemId(statsView.getItemId())
+                .itemName(statsView.getItemName())
+                .bookings(bookings)
+                .bookedSeconds(statsView.getBookedSeconds())
+                .utilization(statsView.getSpanSeconds() > 0
+                        ? (double) statsView.getBookedSeconds() / statsView.getSpanSeconds()
+                        : 0)
+                .build();
+    }
+
+    public BookingStatsDto toBookingStatsDto(List<ItemBookingStatsDto> items) {
+        Map<BookingState, Long> bookings = new EnumMap<>(BookingState.class);
+        long bookedSeconds = 0;
+        for (ItemBookingStatsDto item : items) {
+            item.getBookings().forEach((state, count) -> bookings.merge(state, count, Long::sum));
+            bookedSeconds += item.getBookedSeconds();
+        }
+        return BookingStatsDto.builder()
+                .bookings(bookings)
+                .bookedSeconds(bookedSeconds)
+                .items(items)
+                .build();
+    }
+
     public Booking toBooking(BookingDto bookingDto, User booker, Item item) {
         return Booking.builder()
                 .id(bookingDto.getId())
@@ -33,10 +91,10 @@ public class BookingRowMapper {
                 .build();
     }
 
-    public BookingInfoDto toBookingInfoDto(Booking booking) {
+    public BookingInfoDto toBookingInfoDto(ItemInfo.BookingRef booking) {
         return BookingInfoDto.builder()
                 .id(booking.getId())
-                .bookerId(booking.getBooker().getId())
+                .bookerId(booking.getBookerId())
                 .build();
     }
 }
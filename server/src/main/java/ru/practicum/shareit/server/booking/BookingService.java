@@ -1,12 +1,17 @@
 package ru.practicum.shareit.server.booking;
 
+import ru.practicum.shareit.server.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.booking.dto.BookingStatsDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto create(Long userId, BookingDto bookingDto);
 
+    List<BookingBatchResultDto> createAll(Long userId, List<BookingDto> bookingDtos);
+
     BookingDto updateStatus(Long userId, Long bookingId, Boolean approved);
 
     BookingDto getById(Long userId, Long bookingId);
@@ -14,4 +19,14 @@ public interface BookingService {
     List<BookingDto> getAllByBookerId(Long userId, String state, Integer from, Integer size);
 
     List<BookingDto> getAllByOwnerId(Long userId, String state, Integer from, Integer size);
+
+    BookingStatsDto getOwnerStats(Long userId);
+
+    List<BookingDto> getAllByBookerIdAfter(Long userId, String state, String cursor, Integer size);
+
+    List<BookingDto> getAllByOwnerIdAfter(Long userId, String state, String cursor, Integer size);
+
+    void exportAllByBookerId(Long userId, String state, Consumer<BookingDto> action);
+
+    void exportAllByOwnerId(Long userId, String state, Consumer<BookingDto> action);
 }
@@ -1,13 +1,21 @@
 package ru.practicum.shareit.server.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.booking.dto.BookingStatsDto;
 import ru.practicum.shareit.server.exception.BadRequestException;
 import ru.practicum.shareit.server.exception.ErrorMessage;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemInfoStore;
 import ru.practicum.shareit.server.item.ItemRepository;
 import ru.practicum.shareit.server.item.ItemRowMapper;
 import ru.practicum.shareit.server.item.dto.ItemDto;
@@ -18,11 +26,14 @@ import ru.practicum.shareit.server.user.dto.UserDto;
 import ru.practicum.shareit.server.utils.ShareItPageRequest;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.server.booking.BookingState.*;
+import static ru.practicum.shareit.server.config.CacheConfig.BOOKING_STATS_CACHE;
 import static ru.practicum.shareit.server.exception.ErrorMessage.ACCESS_DENIED_MESSAGE;
 import static ru.practicum.shareit.server.exception.ErrorMessage.IS_APPROVED_ALREADY_SET;
 
@@ -30,14 +41,21 @@ import static ru.practicum.shareit.server.exception.ErrorMessage.IS_APPROVED_ALR
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final List<BookingState> BLOCKING_STATUSES = List.of(APPROVED, WAITING);
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemInfoStore itemInfoStore;
     private final BookingRowMapper bookingRowMapper;
     private final ItemRowMapper itemRowMapper;
     private final UserRowMapper userRowMapper;
+    @Value("${shareit.bookings.export.fetch-size}")
+    private int exportFetchSize;
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = BOOKING_STATS_CACHE, key = "#result.itemDto.ownerDto.id")
     public BookingDto create(Long userId, BookingDto bookingDto) {
         final long finalUserId = userId;
 
@@ -53,16 +71,59 @@ public class BookingServiceImpl implements BookingService {
         if (bookingDto.getStart().isAfter(bookingDto.getEnd())) {
             throw new BadRequestException(ErrorMessage.START_DATE_SHOULD_BE_EARLIER);
         }
+        lockItem(itemDto.getId());
+        if (bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                itemDto.getId(), BLOCKING_STATUSES, bookingDto.getEnd(), bookingDto.getStart())) {
+            throw new BadRequestException(ErrorMessage.ITEM_ALREADY_BOOKED);
+        }
 
         bookingDto.setBookerDto(bookerDto);
         bookingDto.setItemDto(itemDto);
         bookingDto.setStatus(WAITING);
 
-        return toBookingDto(bookingRepository.save(toBooking(bookingDto)));
+        Booking booking = bookingRepository.save(toBooking(bookingDto));
+        itemInfoStore.onBookingsSaved(List.of(booking));
+        return toBookingDto(booking);
+    }
 
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = BOOKING_STATS_CACHE, allEntries = true)
+    public List<BookingBatchResultDto> createAll(Long userId, List<BookingDto> bookingDtos) {
+        User booker = userRowMapper.toUser(getUserDto(userId));
+        Map<Long, Item> items = getItemsForUpdate(bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Map<Long, List<Booking>> blockingBookings = getBlockingBookings(items.keySet(), bookingDtos);
+
+        List<Booking> bookings = new ArrayList<>();
+        List<BookingBatchResultDto> results = new ArrayList<>();
+        for (BookingDto bookingDto : bookingDtos) {
+            try {
+                bookings.add(toNewBooking(booker, bookingDto, items, blockingBookings));
+                results.add(BookingBatchResultDto.builder().status(HttpStatus.CREATED.value()).build());
+            } catch (NotFoundException e) {
+                results.add(toFailedResult(HttpStatus.NOT_FOUND, e));
+            } catch (BadRequestException e) {
+                results.add(toFailedResult(HttpStatus.BAD_REQUEST, e));
+            }
+        }
+
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        itemInfoStore.onBookingsSaved(savedBookings);
+        Iterator<Booking> saved = savedBookings.iterator();
+        for (BookingBatchResultDto result : results) {
+            if (result.getStatus() == HttpStatus.CREATED.value()) {
+                result.setBooking(toBookingDto(saved.next()));
+            }
+        }
+        return results;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = BOOKING_STATS_CACHE, key = "#result.itemDto.ownerDto.id")
     public BookingDto updateStatus(Long userId, Long bookingId, Boolean approved) {
         checkIsUserExist(userId);
         Booking booking = getBooking(bookingId);
@@ -74,96 +135,106 @@ public class BookingServiceImpl implements BookingService {
 
         if (newStatus == APPROVED && booking.getStatus() == APPROVED) {
             throw new BadRequestException(IS_APPROVED_ALREADY_SET);
-        } else {
-            booking.setStatus(newStatus);
         }
+        if (newStatus == APPROVED) {
+            checkIsNotOverlapped(booking);
+        }
+        booking.setStatus(newStatus);
 
-        return toBookingDto(bookingRepository.save(booking));
+        Booking updated = bookingRepository.save(booking);
+        itemInfoStore.onBookingsSaved(List.of(updated));
+        return toBookingDto(updated);
     }
 
     @Override
     public BookingDto getById(Long userId, Long bookingId) {
         checkIsUserExist(userId);
-        Booking booking = getBooking(bookingId);
+        BookingView bookingView = bookingRepository.findViewById(bookingId)
+                .orElseThrow(() -> new NotFoundException(ErrorMessage.BOOKING_NOT_FOUND_MESSAGE));
 
-        boolean isUserIdBooker = booking.getBooker().getId().equals(userId);
-        boolean isUserIdOwner = booking.getItem().getOwner().getId().equals(userId);
+        boolean isUserIdBooker = bookingView.getBookerId().equals(userId);
+        boolean isUserIdOwner = bookingView.getItem().getOwnerId().equals(userId);
 
         if (!(isUserIdBooker || isUserIdOwner)) {
             throw new NotFoundException(ACCESS_DENIED_MESSAGE);
         }
 
-        return toBookingDto(booking);
+        return toBookingDto(bookingView);
     }
 
     @Override
     public List<BookingDto> getAllByBookerId(Long userId, String state, Integer from, Integer size) {
+        return getAll(BookingRole.BOOKER, userId, state, from, size);
+    }
+
+    @Override
+    public List<BookingDto> getAllByOwnerId(Long userId, String state, Integer from, Integer size) {
+        return getAll(BookingRole.OWNER, userId, state, from, size);
+    }
+
+    @Override
+    @Cacheable(cacheNames = BOOKING_STATS_CACHE, key = "#userId")
+    public BookingStatsDto getOwnerStats(Long userId) {
         checkIsUserExist(userId);
-        Pageable pageable = ShareItPageRequest.of(from, size);
-        BookingState bookingState = getState(state);
-        List<Booking> bookingList = new ArrayList<>();
+        return bookingRowMapper.toBookingStatsDto(
+                bookingRepository.findStatsByOwnerId(userId, LocalDateTime.now())
+                        .stream()
+                        .map(bookingRowMapper::toItemBookingStatsDto)
+                        .collect(Collectors.toList()));
+    }
 
-        switch (bookingState) {
-            case ALL: {
-                bookingList = bookingRepository.findAllByBookerIdOrderByStartDesc(userId, pageable);
-                break;
-            }
-            case APPROVED:
-            case WAITING:
-            case REJECTED: {
-                bookingList = bookingRepository.findAllByBookerIdAndStatusIsOrderByStartDesc(userId, bookingState, pageable);
-                break;
-            }
-            case FUTURE: {
-                bookingList = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now(), pageable);
-                break;
-            }
-            case PAST: {
-                bookingList = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now(), pageable);
-                break;
-            }
-            case CURRENT: {
-                bookingList = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(userId, LocalDateTime.now(), LocalDateTime.now(), pageable);
-                break;
-            }
-        }
+    @Override
+    public List<BookingDto> getAllByBookerIdAfter(Long userId, String state, String cursor, Integer size) {
+        return getAllAfterCursor(BookingRole.BOOKER, userId, state, cursor, size);
+    }
 
-        return bookingList.stream().map(this::toBookingDto).collect(Collectors.toList());
+    @Override
+    public List<BookingDto> getAllByOwnerIdAfter(Long userId, String state, String cursor, Integer size) {
+        return getAllAfterCursor(BookingRole.OWNER, userId, state, cursor, size);
     }
 
     @Override
-    public List<BookingDto> getAllByOwnerId(Long userId, String state, Integer from, Integer size) {
+    @Transactional(readOnly = true)
+    public void exportAllByBookerId(Long userId, String state, Consumer<BookingDto> action) {
+        exportAll(BookingRole.BOOKER, userId, state, action);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllByOwnerId(Long userId, String state, Consumer<BookingDto> action) {
+        exportAll(BookingRole.OWNER, userId, state, action);
+    }
+
+    private void exportAll(BookingRole role, Long userId, String state, Consumer<BookingDto> action) {
         checkIsUserExist(userId);
-        Pageable pageable = ShareItPageRequest.of(from, size);
         BookingState bookingState = getState(state);
-        List<Booking> bookingList = new ArrayList<>();
 
-        switch (bookingState) {
-            case ALL: {
-                bookingList = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId, pageable);
-                break;
-            }
-            case APPROVED:
-            case WAITING:
-            case REJECTED: {
-                bookingList = bookingRepository.findAllByItemOwnerIdAndStatusIsOrderByStartDesc(userId, bookingState, pageable);
-                break;
-            }
-            case FUTURE: {
-                bookingList = bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now(), pageable);
-                break;
-            }
-            case PAST: {
-                bookingList = bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now(), pageable);
-                break;
-            }
-            case CURRENT: {
-                bookingList = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, LocalDateTime.now(), LocalDateTime.now(), pageable);
-                break;
-            }
+        try (Stream<BookingView> bookings = bookingRepository.streamAllByRole(role, userId, bookingState,
+                LocalDateTime.now(), exportFetchSize)) {
+            bookings.map(this::toBookingDto).forEach(action);
         }
+    }
+
+    private List<BookingDto> getAll(BookingRole role, Long userId, String state, Integer from, Integer size) {
+        checkIsUserExist(userId);
+        BookingState bookingState = getState(state);
+        Pageable pageable = ShareItPageRequest.of(from, size);
+
+        return bookingRepository.findAllByRole(role, userId, bookingState, LocalDateTime.now(), pageable)
+                .stream()
+                .map(this::toBookingDto)
+                .collect(Collectors.toList());
+    }
 
-        return bookingList.stream().map(this::toBookingDto).collect(Collectors.toList());
+    private List<BookingDto> getAllAfterCursor(BookingRole role, Long userId, String state, String cursor, Integer size) {
+        checkIsUserExist(userId);
+        BookingState bookingState = getState(state);
+        BookingCursor bookingCursor = cursor.isEmpty() ? null : BookingCursor.decode(cursor);
+
+        return bookingRepository.findAllAfterCursor(role, userId, bookingState, LocalDateTime.now(), bookingCursor, size)
+                .stream()
+                .map(this::toBookingDto)
+                .collect(Collectors.toList());
     }
 
     private BookingState getState(String state) {
@@ -179,11 +250,99 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private UserDto getUserDto(Long id) {
-        return userRowMapper.toUserDto(userRepository.findById(id).orElseThrow(() -> new NotFoundException(ErrorMessage.USER_NOT_FOUND_MESSAGE)));
+        return userRowMapper.toUserDto(userRepository.findViewById(id).orElseThrow(() -> new NotFoundException(ErrorMessage.USER_NOT_FOUND_MESSAGE)));
     }
 
     private ItemDto getItemDto(Long id) {
-        return toItemDto(itemRepository.findById(id).orElseThrow(() -> new NotFoundException(ErrorMessage.ITEM_NOT_FOUND_MESSAGE)));
+        return itemRowMapper.toItemDto(itemRepository.findViewById(id).orElseThrow(() -> new NotFoundException(ErrorMessage.ITEM_NOT_FOUND_MESSAGE)));
+    }
+
+    private void lockItem(Long id) {
+        itemRepository.findByIdForUpdate(id).orElseThrow(() -> new NotFoundException(ErrorMessage.ITEM_NOT_FOUND_MESSAGE));
+    }
+
+    private Map<Long, Item> getItemsForUpdate(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<Item> items = itemRepository.findAllByIdInForUpdate(ids);
+        // Loads the owners into the persistence context so the response does not fetch them one by one
+        userRepository.findAllById(items.stream()
+                .map(item -> item.getOwner().getId())
+                .collect(Collectors.toSet()));
+        return items.stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
+
+    private Map<Long, List<Booking>> getBlockingBookings(Collection<Long> itemIds, List<BookingDto> bookingDtos) {
+        Optional<LocalDateTime> from = bookingDtos.stream()
+                .map(BookingDto::getStart)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder());
+        Optional<LocalDateTime> to = bookingDtos.stream()
+                .map(BookingDto::getEnd)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder());
+        if (itemIds.isEmpty() || from.isEmpty() || to.isEmpty()) {
+            return new HashMap<>();
+        }
+        return bookingRepository.findAllByItemIdInAndStatusInAndStartBeforeAndEndAfter(
+                        itemIds, BLOCKING_STATUSES, to.get(), from.get())
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), HashMap::new,
+                        Collectors.toCollection(ArrayList::new)));
+    }
+
+    private Booking toNewBooking(User booker, BookingDto bookingDto, Map<Long, Item> items,
+                                 Map<Long, List<Booking>> blockingBookings) {
+        Item item = items.get(bookingDto.getItemId());
+        if (item == null) {
+            throw new NotFoundException(ErrorMessage.ITEM_NOT_FOUND_MESSAGE);
+        }
+        if (!item.getAvailable()) {
+            throw new BadRequestException(ErrorMessage.ITEM_NOT_AVAILABLE);
+        }
+        if (item.getOwner().getId().equals(booker.getId())) {
+            throw new NotFoundException(ACCESS_DENIED_MESSAGE);
+        }
+        LocalDateTime start = bookingDto.getStart();
+        LocalDateTime end = bookingDto.getEnd();
+        if (start == null || end == null) {
+            throw new BadRequestException(ErrorMessage.DATES_REQUIRED);
+        }
+        if (start.isAfter(end)) {
+            throw new BadRequestException(ErrorMessage.START_DATE_SHOULD_BE_EARLIER);
+        }
+        List<Booking> itemBookings = blockingBookings.computeIfAbsent(item.getId(), id -> new ArrayList<>());
+        if (itemBookings.stream().anyMatch(other -> other.getStart().isBefore(end) && other.getEnd().isAfter(start))) {
+            throw new BadRequestException(ErrorMessage.ITEM_ALREADY_BOOKED);
+        }
+
+        Booking booking = Booking.builder()
+                .start(start)
+                .end(end)
+                .status(WAITING)
+                .booker(booker)
+                .item(item)
+                .build();
+        itemBookings.add(booking);
+        return booking;
+    }
+
+    private BookingBatchResultDto toFailedResult(HttpStatus status, RuntimeException e) {
+        return BookingBatchResultDto.builder()
+                .status(status.value())
+                .error(e.getMessage())
+                .build();
+    }
+
+    private void checkIsNotOverlapped(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        lockItem(itemId);
+        if (bookingRepository.existsByItemIdAndIdNotAndStatusInAndStartBeforeAndEndAfter(
+                itemId, booking.getId(), List.of(APPROVED), booking.getEnd(), booking.getStart())) {
+            throw new BadRequestException(ErrorMessage.ITEM_ALREADY_BOOKED);
+        }
     }
 
     private Booking getBooking(Long id) {
@@ -202,6 +361,10 @@ public class BookingServiceImpl implements BookingService {
         return bookingRowMapper.toBookingDto(booking, bookerDto, itemDto);
     }
 
+    private BookingDto toBookingDto(BookingView bookingView) {
+        return bookingRowMapper.toBookingDto(bookingView, itemRowMapper.toItemDto(bookingView.getItem()));
+    }
+
     private ItemDto toItemDto(Item item) {
         UserDto ownerDto = userRowMapper.toUserDto(item.getOwner());
         Long requestId = null;
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.server.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookingStatsView {
+    public static final String SELECT = "SELECT i.id AS item_id, i.name AS item_name, COUNT(b.id) AS total_count, " +
+            "COUNT(CASE WHEN b.status = 'WAITING' THEN 1 END) AS waiting_count, " +
+            "COUNT(CASE WHEN b.status = 'APPROVED' THEN 1 END) AS approved_count, " +
+            "COUNT(CASE WHEN b.status = 'REJECTED' THEN 1 END) AS rejected_count, " +
+            "COUNT(CASE WHEN b.status = 'CANCELED' THEN 1 END) AS canceled_count, " +
+            "COUNT(CASE WHEN b.end_date < :now THEN 1 END) AS past_count, " +
+            "COUNT(CASE WHEN b.start_date < :now AND b.end_date > :now THEN 1 END) AS current_count, " +
+            "COUNT(CASE WHEN b.start_date > :now THEN 1 END) AS future_count, " +
+            "COALESCE(SUM(CASE WHEN b.status = 'APPROVED' " +
+            "THEN EXTRACT(EPOCH FROM b.end_date) - EXTRACT(EPOCH FROM b.start_date) END), 0) AS booked_seconds, " +
+            "COALESCE(EXTRACT(EPOCH FROM MAX(CASE WHEN b.status = 'APPROVED' THEN b.end_date END)) " +
+            "- EXTRACT(EPOCH FROM MIN(CASE WHEN b.status = 'APPROVED' THEN b.start_date END)), 0) AS span_seconds " +
+            "FROM items i LEFT JOIN bookings b ON b.item_id = i.id ";
+
+    private final Long itemId;
+    private final String itemName;
+    private final long total;
+    private final long waiting;
+    private final long approved;
+    private final long rejected;
+    private final long canceled;
+    private final long past;
+    private final long current;
+    private final long future;
+    private final long bookedSeconds;
+    private final long spanSeconds;
+
+    public static BookingStatsView of(Object[] row) {
+        return new BookingStatsView(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                ((Number) row[2]).longValue(),
+                ((Number) row[3]).longValue(),
+                ((Number) row[4]).longValue(),
+                ((Number) row[5]).longValue(),
+                ((Number) row[6]).longValue(),
+                ((Number) row[7]).longValue(),
+                ((Number) row[8]).longValue(),
+                ((Number) row[9]).longValue(),
+                ((Number) row[10]).longValue(),
+                ((Number) row[11]).longValue());
+    }
+}
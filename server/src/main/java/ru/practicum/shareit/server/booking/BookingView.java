@@ -0,0 +1,38 @@
+package ru.practicum.shareit.server.booking;
+
+import lombok.Getter;
+import ru.practicum.shareit.server.item.ItemView;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class BookingView {
+    public static final String SELECT = "select new ru.practicum.shareit.server.booking.BookingView(" +
+            "b.id, b.start, b.end, b.status, bk.id, bk.name, bk.email, " +
+            "i.id, i.name, i.description, i.available, o.id, o.name, o.email, r.id) " +
+            "from Booking b join b.booker bk join b.item i join i.owner o left join i.itemRequest r ";
+
+    private final Long id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final BookingState status;
+    private final Long bookerId;
+    private final String bookerName;
+    private final String bookerEmail;
+    private final ItemView item;
+
+    public BookingView(Long id, LocalDateTime start, LocalDateTime end, BookingState status,
+                       Long bookerId, String bookerName, String bookerEmail,
+                       Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                       Long ownerId, String ownerName, String ownerEmail, Long requestId) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.status = status;
+        this.bookerId = bookerId;
+        this.bookerName = bookerName;
+        this.bookerEmail = bookerEmail;
+        this.item = new ItemView(itemId, itemName, itemDescription, itemAvailable, ownerId, ownerName, ownerEmail,
+                requestId);
+    }
+}
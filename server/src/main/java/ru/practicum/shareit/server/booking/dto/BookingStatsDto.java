@@ -0,0 +1,20 @@
+package ru.practicum.shareit.server.booking.dto;
+
+import lombok.*;
+import ru.practicum.shareit.server.booking.BookingState;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Builder
+public class BookingStatsDto {
+    private Map<BookingState, Long> bookings;
+    private long bookedSeconds;
+    private List<ItemBookingStatsDto> items;
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.server.booking.dto;
+
+import lombok.*;
+import ru.practicum.shareit.server.booking.BookingState;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Builder
+public class ItemBookingStatsDto {
+    private Long itemId;
+    private String itemName;
+    private Map<BookingState, Long> bookings;
+    private long bookedSeconds;
+    private double utilization;
+}
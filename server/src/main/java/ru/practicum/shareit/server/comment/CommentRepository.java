@@ -1,9 +1,13 @@
 package ru.practicum.shareit.server.comment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
+    @Query(CommentView.SELECT + "where c.item.id in :itemIds")
+    List<CommentView> findAllByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.server.comment;
+
+public interface CommentRepositoryCustom {
+    /**
+     * Ids reserved by one call of {@link #nextId()}: the increment of comments_seq and the allocation size of
+     * {@link Comment}, so they never overlap with the ids Hibernate hands out.
+     */
+    int ID_BLOCK_SIZE = 50;
+
+    /**
+     * Advances comments_seq and returns the first of the {@link #ID_BLOCK_SIZE} ids it reserved.
+     */
+    Long nextId();
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.server.comment;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Long nextId() {
+        return ((Number) entityManager.createNativeQuery("select nextval('comments_seq')").getSingleResult())
+                .longValue();
+    }
+}
@@ -25,4 +25,13 @@ public class CommentRowMapper {
                 comment.getCreated()
         );
     }
+
+    public CommentDto toCommentDto(CommentView commentView) {
+        return new CommentDto(
+                commentView.getId(),
+                commentView.getText(),
+                commentView.getAuthorName(),
+                commentView.getCreated()
+        );
+    }
 }
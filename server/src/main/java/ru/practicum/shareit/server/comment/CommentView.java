@@ -0,0 +1,20 @@
+package ru.practicum.shareit.server.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class CommentView {
+    public static final String SELECT = "select new ru.practicum.shareit.server.comment.CommentView(" +
+            "c.id, c.text, a.name, c.created, c.item.id) " +
+            "from Comment c join c.author a ";
+
+    private final Long id;
+    private final String text;
+    private final String authorName;
+    private final LocalDateTime created;
+    private final Long itemId;
+}
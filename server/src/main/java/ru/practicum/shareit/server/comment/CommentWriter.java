@@ -0,0 +1,198 @@
+package ru.practicum.shareit.server.comment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes comments in batches: a request hands its comment to a background thread and waits until the batch holding
+ * it has been committed, so a burst of comments costs one transaction per batch and a comment is never acknowledged
+ * before it is stored. When the queue is full, or the caller is inside a transaction, it writes its comment itself.
+ */
+@Slf4j
+@Component
+public class CommentWriter {
+    private static final String INSERT_SQL =
+            "insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)";
+
+    private final CommentRepository commentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean batching;
+    private final int batchSize;
+    private final Duration enqueueTimeout;
+    private final Duration flushInterval;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<QueuedComment> queue;
+    private final Thread flusher = new Thread(this::run, "comment-writer");
+    private volatile boolean running = true;
+
+    public CommentWriter(CommentRepository commentRepository,
+                         JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${shareit.comments.batching.enabled}") boolean batching,
+                         @Value("${shareit.comments.batching.queue-capacity}") int queueCapacity,
+                         @Value("${shareit.comments.batching.batch-size}") int batchSize,
+                         @Value("${shareit.comments.batching.enqueue-timeout}") Duration enqueueTimeout,
+                         @Value("${shareit.comments.batching.flush-interval}") Duration flushInterval,
+                         @Value("${shareit.comments.batching.shutdown-timeout}") Duration shutdownTimeout) {
+        this.commentRepository = commentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batching = batching;
+        this.batchSize = batchSize;
+        this.enqueueTimeout = enqueueTimeout;
+        this.flushInterval = flushInterval;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (batching) {
+            flusher.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (batching) {
+            flusher.join(shutdownTimeout.toMillis());
+            List<QueuedComment> unwritten = new ArrayList<>();
+            queue.drainTo(unwritten);
+            unwritten.forEach(queued -> queued.written.completeExceptionally(
+                    new IllegalStateException("Shut down before the comment was written")));
+        }
+    }
+
+    public Comment write(Comment comment) {
+        if (!batching) {
+            return commentRepository.save(comment);
+        }
+        comment.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        QueuedComment queued = new QueuedComment(comment);
+        // Waiting for the flusher while holding a connection of the caller's transaction can exhaust the pool
+        if (TransactionSynchronizationManager.isActualTransactionActive() || !enqueue(queued)) {
+            insert(List.of(comment));
+            return comment;
+        }
+        try {
+            queued.written.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing comment", e);
+        }
+        return comment;
+    }
+
+    private boolean enqueue(QueuedComment queued) {
+        try {
+            return running && queue.offer(queued, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<QueuedComment> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedComment queued = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (queued == null) {
+                    continue;
+                }
+                batch.add(queued);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<QueuedComment> batch) {
+        List<Comment> comments = new ArrayList<>(batch.size());
+        batch.forEach(queued -> comments.add(queued.comment));
+        try {
+            insert(comments);
+            batch.forEach(queued -> queued.written.complete(null));
+        } catch (RuntimeException e) {
+            log.warn("Failed to write a batch of {} comments, writing them one by one", batch.size(), e);
+            batch.forEach(this::flushOne);
+        }
+    }
+
+    private void flushOne(QueuedComment queued) {
+        try {
+            insert(List.of(queued.comment));
+            queued.written.complete(null);
+        } catch (DuplicateKeyException e) {
+            queued.written.complete(null);
+        } catch (RuntimeException e) {
+            queued.written.completeExceptionally(e);
+        }
+    }
+
+    private void insert(List<Comment> comments) {
+        assignIds(comments);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, comments, comments.size(),
+                (ps, comment) -> {
+                    ps.setLong(1, comment.getId());
+                    ps.setString(2, comment.getText());
+                    ps.setLong(3, comment.getItem().getId());
+                    ps.setLong(4, comment.getAuthor().getId());
+                    ps.setTimestamp(5, Timestamp.valueOf(comment.getCreated()));
+                }));
+    }
+
+    private void assignIds(List<Comment> comments) {
+        long next = 0;
+        long end = 0;
+        for (Comment comment : comments) {
+            if (comment.getId() != null) {
+                continue;
+            }
+            if (next == end) {
+                next = commentRepository.nextId();
+                end = next + CommentRepositoryCustom.ID_BLOCK_SIZE;
+            }
+            comment.setId(next++);
+        }
+    }
+
+    private static class QueuedComment {
+        private final Comment comment;
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+
+        QueuedComment(Comment comment) {
+            this.comment = comment;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.server.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS_CACHE = "users";
+    public static final String ITEMS_CACHE = "items";
+    public static final String BOOKING_STATS_CACHE = "bookingStats";
+    public static final String BOOKERS_CACHE = "bookers";
+    public static final String ITEM_INFO_CACHE = "itemInfo";
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.server.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.booking.BookingState;
+import ru.practicum.shareit.server.exception.BadRequestException;
+import ru.practicum.shareit.server.exception.NotFoundException;
+
+import java.util.Arrays;
+
+/**
+ * Times every public method of the {@code @Service} beans as {@code shareit.service}. Repository calls are timed by
+ * Spring Boot as {@code spring.data.repository.invocations}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+    public static final String METRIC_NAME = "shareit.service";
+    private static final String NONE = "None";
+    private static final String UNKNOWN_STATE = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * *(..)) && within(@org.springframework.stereotype.Service *)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = getOutcome(e);
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .tag("service", signature.getDeclaringType().getSimpleName())
+                    .tag("method", signature.getName())
+                    .tag("state", getState(signature, joinPoint.getArgs()))
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String getOutcome(Throwable e) {
+        if (e instanceof NotFoundException) {
+            return "NOT_FOUND";
+        }
+        if (e instanceof BadRequestException) {
+            return "BAD_REQUEST";
+        }
+        return "ERROR";
+    }
+
+    private String getState(MethodSignature signature, Object[] args) {
+        int index = Arrays.asList(signature.getParameterNames()).indexOf("state");
+        if (index < 0 || !(args[index] instanceof String)) {
+            return NONE;
+        }
+        String state = (String) args[index];
+        return Arrays.stream(BookingState.values()).anyMatch(value -> value.name().equals(state)) ? state : UNKNOWN_STATE;
+    }
+}
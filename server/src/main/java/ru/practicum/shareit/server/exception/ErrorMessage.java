@@ -7,9 +7,12 @@ public class ErrorMessage {
     public static final String BOOKING_NOT_FOUND_MESSAGE = "The booking not found";
     public static final String ACCESS_DENIED_MESSAGE = "Access denied";
     public static final String UNKNOWN_STATE = "Unknown state: %s";
+    public static final String INVALID_CURSOR = "Invalid cursor: %s";
     public static final String IS_APPROVED_ALREADY_SET = "The status 'APPROVED' is already set";
     public static final String ITEM_NOT_AVAILABLE = "The item not available";
+    public static final String DATES_REQUIRED = "The start and end dates are required";
     public static final String START_DATE_SHOULD_BE_EARLIER = "The start date should be earlier than the end date";
+    public static final String ITEM_ALREADY_BOOKED = "The item is already booked for these dates";
 
     private ErrorMessage() {
     }
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.server.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.server.booking.Booking;
+import ru.practicum.shareit.server.booking.BookingState;
+import ru.practicum.shareit.server.comment.dto.CommentDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything {@code GET /items/{id}} returns for an item, kept up to date by {@link ItemInfoStore}.
+ * The last booking is the approved one that started last, the next booking the first one still to start. Both are
+ * relative to the time the value was built, so it is only valid until the next booking starts.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemInfo {
+    private final ItemView item;
+    private final List<CommentDto> comments;
+    private final BookingRef lastBooking;
+    private final BookingRef nextBooking;
+
+    public boolean isValidAt(LocalDateTime now) {
+        return nextBooking == null || nextBooking.getStart().isAfter(now);
+    }
+
+    ItemInfo withItem(ItemView item) {
+        return new ItemInfo(item, comments, lastBooking, nextBooking);
+    }
+
+    ItemInfo withComment(CommentDto comment) {
+        if (comments.stream().anyMatch(existing -> existing.getId().equals(comment.getId()))) {
+            return this;
+        }
+        List<CommentDto> updated = new ArrayList<>(comments);
+        updated.add(comment);
+        return new ItemInfo(item, Collections.unmodifiableList(updated), lastBooking, nextBooking);
+    }
+
+    /**
+     * @return the updated value, or {@code null} when the last booking is no longer approved and has to be looked up
+     */
+    ItemInfo withBooking(BookingRef booking, BookingState status, LocalDateTime now) {
+        if (booking.getStart().isAfter(now)) {
+            boolean isNext = nextBooking == null || booking.getStart().isBefore(nextBooking.getStart())
+                    || booking.startsWithAndPrecedes(nextBooking);
+            return isNext ? new ItemInfo(item, comments, lastBooking, booking) : this;
+        }
+        if (status != BookingState.APPROVED) {
+            return lastBooking != null && lastBooking.getId().equals(booking.getId()) ? null : this;
+        }
+        boolean isLast = lastBooking == null || booking.getStart().isAfter(lastBooking.getStart())
+                || booking.startsWithAndPrecedes(lastBooking);
+        return isLast ? new ItemInfo(item, comments, booking, nextBooking) : this;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BookingRef {
+        private final Long id;
+        private final Long bookerId;
+        private final LocalDateTime start;
+
+        public static BookingRef of(Booking booking) {
+            return new BookingRef(booking.getId(), booking.getBooker().getId(), booking.getStart());
+        }
+
+        /**
+         * Among bookings starting at the same time the one with the smaller id is shown.
+         */
+        boolean startsWithAndPrecedes(BookingRef other) {
+            return start.isEqual(other.start) && id <= other.id;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package ru.practicum.shareit.server.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.booking.Booking;
+import ru.practicum.shareit.server.booking.BookingState;
+import ru.practicum.shareit.server.comment.dto.CommentDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.server.config.CacheConfig.ITEM_INFO_CACHE;
+
+/**
+ * Read model behind {@code GET /items/{id}}. Entries are built once and then patched by item, comment and booking
+ * changes instead of being rebuilt. Changes made inside a transaction are applied after it commits; until then
+ * that transaction reads the items it changed from the database. Other server instances do not see those patches,
+ * so an entry is reloaded once it is older than {@code shareit.items.info.ttl} no matter how often it was patched.
+ * Loads and patches of different items only contend when the items share one of the lock stripes.
+ */
+@Component
+public class ItemInfoStore {
+    private static final int STRIPES = 64;
+
+    private final Cache cache;
+    private final long ttlNanos;
+    private final Object[] locks = new Object[STRIPES];
+    private final long[] generations = new long[STRIPES];
+
+    public ItemInfoStore(CacheManager cacheManager, @Value("${shareit.items.info.ttl}") Duration ttl) {
+        this.cache = cacheManager.getCache(ITEM_INFO_CACHE);
+        this.ttlNanos = ttl.toNanos();
+        Arrays.setAll(locks, i -> new Object());
+    }
+
+    public ItemInfo get(Long itemId, Supplier<ItemInfo> loader) {
+        LocalDateTime now = LocalDateTime.now();
+        if (isChangedInTransaction(itemId)) {
+            return loader.get();
+        }
+        Entry cached = cache.get(itemId, Entry.class);
+        if (cached != null && cached.isYoungerThan(ttlNanos) && cached.info.isValidAt(now)) {
+            return cached.info;
+        }
+        int stripe = stripe(itemId);
+        long generation;
+        synchronized (locks[stripe]) {
+            generation = generations[stripe];
+        }
+        long loadedAt = System.nanoTime();
+        ItemInfo loaded = loader.get();
+        synchronized (locks[stripe]) {
+            if (generations[stripe] == generation) {
+                cache.put(itemId, new Entry(loaded, loadedAt));
+            }
+        }
+        return loaded;
+    }
+
+    @Nullable
+    ItemInfo getCached(Long itemId) {
+        Entry entry = cache.get(itemId, Entry.class);
+        return entry != null ? entry.info : null;
+    }
+
+    public void onItemUpdated(ItemView item) {
+        afterCommit(List.of(item.getId()), () -> update(item.getId(), info -> info.withItem(item)));
+    }
+
+    /**
+     * Must be called once the comment row has been committed, or from the transaction that inserts it.
+     */
+    public void onCommentAdded(Long itemId, CommentDto comment) {
+        afterCommit(List.of(itemId), () -> update(itemId, info -> info.withComment(comment)));
+    }
+
+    public void onBookingsSaved(List<Booking> bookings) {
+        List<ItemInfo.BookingRef> refs = bookings.stream().map(ItemInfo.BookingRef::of).collect(Collectors.toList());
+        List<BookingState> statuses = bookings.stream().map(Booking::getStatus).collect(Collectors.toList());
+        List<Long> itemIds = bookings.stream().map(booking -> booking.getItem().getId()).collect(Collectors.toList());
+        afterCommit(itemIds, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < refs.size(); i++) {
+                ItemInfo.BookingRef ref = refs.get(i);
+                BookingState status = statuses.get(i);
+                update(itemIds.get(i), info -> info.withBooking(ref, status, now));
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        afterCommit(null, () -> {
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                synchronized (locks[stripe]) {
+                    generations[stripe]++;
+                }
+            }
+            cache.clear();
+        });
+    }
+
+    private void update(Long itemId, Function<ItemInfo, ItemInfo> change) {
+        int stripe = stripe(itemId);
+        synchronized (locks[stripe]) {
+            generations[stripe]++;
+            Entry entry = cache.get(itemId, Entry.class);
+            if (entry == null) {
+                return;
+            }
+            ItemInfo changed = change.apply(entry.info);
+            if (changed != null) {
+                cache.put(itemId, new Entry(changed, entry.loadedAt));
+            } else {
+                cache.evict(itemId);
+            }
+        }
+    }
+
+    private static int stripe(Long itemId) {
+        return (int) Math.floorMod(itemId, (long) STRIPES);
+    }
+
+    private boolean isChangedInTransaction(Long itemId) {
+        ChangedItems changed = (ChangedItems) TransactionSynchronizationManager.getResource(this);
+        return changed != null && changed.contains(itemId);
+    }
+
+    /**
+     * @param itemIds items the change touches, or {@code null} for all of them
+     */
+    private void afterCommit(@Nullable Collection<Long> itemIds, Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        ChangedItems changed = (ChangedItems) TransactionSynchronizationManager.getResource(this);
+        if (changed == null) {
+            changed = new ChangedItems();
+            TransactionSynchronizationManager.bindResource(this, changed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(ItemInfoStore.this);
+                }
+            });
+        }
+        changed.add(itemIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static class Entry {
+        private final ItemInfo info;
+        private final long loadedAt;
+
+        Entry(ItemInfo info, long loadedAt) {
+            this.info = info;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isYoungerThan(long ageNanos) {
+            return System.nanoTime() - loadedAt < ageNanos;
+        }
+    }
+
+    private static class ChangedItems {
+        private final Set<Long> itemIds = new HashSet<>();
+        private boolean all;
+
+        void add(@Nullable Collection<Long> changedItemIds) {
+            if (changedItemIds == null) {
+                all = true;
+            } else {
+                itemIds.addAll(changedItemIds);
+            }
+        }
+
+        boolean contains(Long itemId) {
+            return all || itemIds.contains(itemId);
+        }
+    }
+}
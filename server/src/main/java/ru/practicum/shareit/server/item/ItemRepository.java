@@ -1,11 +1,46 @@
 package ru.practicum.shareit.server.item;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import ru.practicum.shareit.server.user.User;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static ru.practicum.shareit.server.config.CacheConfig.ITEMS_CACHE;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByOwner(User owner, Pageable pageable);
+    @EntityGraph(attributePaths = {"owner", "itemRequest"})
+    Optional<Item> findById(Long id);
+
+    @Cacheable(cacheNames = ITEMS_CACHE, unless = "#result == null")
+    @Query(ItemView.SELECT + "where i.id = :id")
+    Optional<ItemView> findViewById(@Param("id") Long id);
+
+    @Query(ItemView.SELECT + "where i.owner.id = :ownerId order by i.id")
+    List<ItemView> findAllByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(ItemView.SELECT + "where i.itemRequest.id in :requestIds order by i.id")
+    List<ItemView> findAllByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
+    @Query(ItemView.SELECT +
+            "where i.available = true " +
+            "and (upper(i.name) like concat('%', upper(:text), '%') escape '\\' " +
+            "or upper(i.description) like concat('%', upper(:text), '%') escape '\\') " +
+            "order by i.id")
+    List<ItemView> search(@Param("text") String text, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in :ids order by i.id")
+    List<Item> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -23,23 +23,28 @@ public class ItemRowMapper {
                 .build();
     }
 
-    public ItemInfoDto toItemInfoDto(Item item, UserDto ownerDto, List<CommentDto> commentDtoList, List<BookingInfoDto> bookingInfoDtoList) {
-        ItemInfoDto itemInfoDto = ItemInfoDto.builder()
-                .id(item.getId() != null ? item.getId() : null)
-                .name(item.getName())
-                .description(item.getDescription())
-                .available(item.getAvailable())
-                .ownerDto(ownerDto)
-                .commentsDtoList(commentDtoList).build();
-
-        if (bookingInfoDtoList == null || bookingInfoDtoList.size() != 2) {
-            return itemInfoDto;
-        }
-
-        itemInfoDto.setLastBookingDto(bookingInfoDtoList.get(0));
-        itemInfoDto.setNextBookingDto(bookingInfoDtoList.get(1));
+    public ItemDto toItemDto(ItemView itemView) {
+        return ItemDto.builder()
+                .id(itemView.getId())
+                .name(itemView.getName())
+                .description(itemView.getDescription())
+                .available(itemView.getAvailable())
+                .ownerDto(toOwnerDto(itemView))
+                .requestId(itemView.getRequestId())
+                .build();
+    }
 
-        return itemInfoDto;
+    public ItemInfoDto toItemInfoDto(ItemView itemView, List<CommentDto> commentDtoList,
+                                     BookingInfoDto lastBookingDto, BookingInfoDto nextBookingDto) {
+        return ItemInfoDto.builder()
+                .id(itemView.getId())
+                .name(itemView.getName())
+                .description(itemView.getDescription())
+                .available(itemView.getAvailable())
+                .ownerDto(toOwnerDto(itemView))
+                .lastBookingDto(lastBookingDto)
+                .nextBookingDto(nextBookingDto)
+                .commentsDtoList(commentDtoList).build();
     }
 
     public Item toItem(ItemDto itemDto, User owner) {
@@ -51,4 +56,12 @@ public class ItemRowMapper {
                 .owner(owner)
                 .build();
     }
+
+    private UserDto toOwnerDto(ItemView itemView) {
+        return UserDto.builder()
+                .id(itemView.getOwnerId())
+                .name(itemView.getOwnerName())
+                .email(itemView.getOwnerEmail())
+                .build();
+    }
 }
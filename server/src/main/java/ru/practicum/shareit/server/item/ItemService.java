@@ -15,7 +15,10 @@ public interface ItemService {
 
     List<ItemInfoDto> getAll(Long userId, Integer from, Integer size);
 
-    List<ItemDto> search(Long userId, String text);
+    /**
+     * @param size page size, or {@code null} to return every match; {@code from} only applies together with it
+     */
+    List<ItemDto> search(Long userId, String text, Integer from, Integer size);
 
     CommentDto addComment(Long userId, Long itemId, CommentDto commentDto);
 }
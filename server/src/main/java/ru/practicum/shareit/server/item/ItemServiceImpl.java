@@ -1,14 +1,16 @@
 package ru.practicum.shareit.server.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.server.booking.Booking;
 import ru.practicum.shareit.server.booking.BookingRepository;
 import ru.practicum.shareit.server.booking.BookingRowMapper;
 import ru.practicum.shareit.server.booking.dto.BookingInfoDto;
-import ru.practicum.shareit.server.comment.Comment;
 import ru.practicum.shareit.server.comment.CommentRepository;
+import ru.practicum.shareit.server.comment.CommentView;
+import ru.practicum.shareit.server.comment.CommentWriter;
 import ru.practicum.shareit.server.comment.CommentRowMapper;
 import ru.practicum.shareit.server.comment.dto.CommentDto;
 import ru.practicum.shareit.server.exception.BadRequestException;
@@ -24,10 +26,12 @@ import ru.practicum.shareit.server.utils.ShareItPageRequest;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.server.config.CacheConfig.ITEMS_CACHE;
 import static ru.practicum.shareit.server.exception.ErrorMessage.*;
 
 @Service
@@ -38,6 +42,8 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final CommentWriter commentWriter;
+    private final ItemInfoStore itemInfoStore;
     private final ItemRequestRepository itemRequestRepository;
     private final UserRowMapper userRowMapper;
     private final ItemRowMapper itemRowMapper;
@@ -46,9 +52,8 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDto create(Long userId, ItemDto itemDto) {
-        User user = getUser(userId);
         Item item = toItem(itemDto);
-        item.setOwner(user);
+        item.setOwner(userRowMapper.toUser(getUserDto(userId)));
 
         if (itemDto.getRequestId() != null) {
             item.setItemRequest(itemRequestRepository.findById(itemDto.getRequestId())
@@ -59,8 +64,9 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @CacheEvict(cacheNames = ITEMS_CACHE, key = "#itemId")
     public ItemDto update(Long userId, ItemDto itemDto, Long itemId) {
-        User user = getUser(userId);
+        UserDto user = getUserDto(userId);
         Item itemToUpdate = getItem(itemId);
         Item item = toItem(itemDto);
 
@@ -82,57 +88,63 @@ public class ItemServiceImpl implements ItemService {
             itemToUpdate.setName(item.getName());
         }
 
-        return toItemDto(itemRepository.save(itemToUpdate));
+        itemRepository.save(itemToUpdate);
+        itemInfoStore.onItemUpdated(ItemView.of(itemToUpdate));
+        return toItemDto(itemToUpdate);
     }
 
     @Override
     public ItemInfoDto getById(Long userId, Long itemId) {
         checkIsUserExist(userId);
-        Item item = getItem(itemId);
-
-        List<Comment> commentsList = commentRepository.findAllByItemId(itemId);
-        List<Booking> bookingList = bookingRepository.findTop2ByItemOwnerIdAndItemIdOrderByStartAsc(userId, itemId);
-
-        return toItemInfoDto(item, commentsList, bookingList);
+        ItemInfo itemInfo = itemInfoStore.get(itemId,
+                () -> getItemInfoList(List.of(getItemView(itemId))).get(0));
+        return toItemInfoDto(itemInfo, itemInfo.getItem().getOwnerId().equals(userId));
     }
 
     @Override
     public List<ItemInfoDto> getAll(Long userId, Integer from, Integer size) {
-        User owner = getUser(userId);
+        checkIsUserExist(userId);
         Pageable pageable = ShareItPageRequest.of(from, size);
-        List<Item> itemsByUserId = itemRepository.findAllByOwner(owner, pageable)
+        List<ItemView> itemsByUserId = itemRepository.findAllByOwnerId(userId, pageable)
                 .stream()
-                .sorted(Comparator.comparing(Item::getId))
-                .filter(Item::getAvailable)
+                .filter(ItemView::getAvailable)
+                .collect(Collectors.toList());
+        return getItemInfoList(itemsByUserId).stream()
+                .map(itemInfo -> toItemInfoDto(itemInfo, true))
                 .collect(Collectors.toList());
-        return getItemInfoDtoList(userId, itemsByUserId);
     }
 
     @Override
-    public List<ItemDto> search(Long userId, String text) {
-        return itemRepository.findAll().stream()
-                .filter(item -> !text.isEmpty()
-                        && (checkName(item, text) || checkDescription(item, text))
-                        && checkAvailable(item)
-                )
-                .map(this::toItemDto).collect(Collectors.toList());
+    public List<ItemDto> search(Long userId, String text, Integer from, Integer size) {
+        if (text.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Pageable pageable = size != null ? ShareItPageRequest.of(from, size) : Pageable.unpaged();
+        return itemRepository.search(escapeLikePattern(text), pageable).stream()
+                .map(itemRowMapper::toItemDto).collect(Collectors.toList());
     }
 
     @Override
     public CommentDto addComment(Long userId, Long itemId, CommentDto commentDto) {
-        User booker = getUser(userId);
-        Item item = getItem(itemId);
-        bookingRepository.findFirstByBookerIdAndItemIdAndEndBefore(userId, itemId, LocalDateTime.now()).orElseThrow(() -> new BadRequestException(ACCESS_DENIED_MESSAGE));
-        return commentRowMapper.toCommentDto(commentRepository.save(commentRowMapper.toComment(commentDto, booker, item)));
+        User booker = userRowMapper.toUser(getUserDto(userId));
+        getItemView(itemId);
+        Item item = itemRepository.getReferenceById(itemId);
+        if (!bookingRepository.existsByBookerIdAndItemIdAndEndBefore(userId, itemId, LocalDateTime.now())) {
+            throw new BadRequestException(ACCESS_DENIED_MESSAGE);
+        }
+        CommentDto addedCommentDto = commentRowMapper.toCommentDto(
+                commentWriter.write(commentRowMapper.toComment(commentDto, booker, item)));
+        itemInfoStore.onCommentAdded(itemId, addedCommentDto);
+        return addedCommentDto;
     }
 
     private void checkIsUserExist(Long id) {
-        getUser(id);
+        getUserDto(id);
     }
 
-    private User getUser(Long id) {
-        return userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_MESSAGE));
+    private UserDto getUserDto(Long id) {
+        return userRowMapper.toUserDto(userRepository.findViewById(id)
+                .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_MESSAGE)));
     }
 
     private Item getItem(Long id) {
@@ -140,7 +152,12 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND_MESSAGE));
     }
 
-    private void validateUser(User user, Item item) {
+    private ItemView getItemView(Long id) {
+        return itemRepository.findViewById(id)
+                .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND_MESSAGE));
+    }
+
+    private void validateUser(UserDto user, Item item) {
         final long userId = user.getId();
         final long ownerId = item.getOwner().getId();
         if (userId != ownerId) {
@@ -148,30 +165,41 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private Boolean checkName(Item item, String text) {
-        return item.getName() != null
-                && (item.getName().toUpperCase()).contains(text.toUpperCase());
+    private String escapeLikePattern(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 
-    private Boolean checkDescription(Item item, String text) {
-        return item.getDescription() != null
-                && (item.getDescription().toUpperCase()).contains(text.toUpperCase());
-    }
+    private List<ItemInfo> getItemInfoList(List<ItemView> itemList) {
+        if (itemList.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-    private Boolean checkAvailable(Item item) {
-        return item.getAvailable() != null
-                && item.getAvailable();
+        List<Long> itemIds = itemList.stream().map(ItemView::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, Booking> lastBookings = toBookingByItemId(bookingRepository.findLastByItemIdIn(itemIds, now));
+        Map<Long, Booking> nextBookings = toBookingByItemId(bookingRepository.findNextByItemIdIn(itemIds, now));
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(CommentView::getItemId,
+                        Collectors.mapping(commentRowMapper::toCommentDto, Collectors.toUnmodifiableList())));
+
+        return itemList.stream()
+                .map(item -> new ItemInfo(
+                        item,
+                        comments.getOrDefault(item.getId(), List.of()),
+                        toBookingRef(lastBookings.get(item.getId())),
+                        toBookingRef(nextBookings.get(item.getId()))))
+                .collect(Collectors.toList());
     }
 
-    private List<ItemInfoDto> getItemInfoDtoList(Long userId, List<Item> itemList) {
-        List<ItemInfoDto> itemInfoDtoList = new ArrayList<>();
-
-        for (Item item : itemList) {
-            List<Booking> bookingList = bookingRepository.findTop2ByItemOwnerIdAndItemIdOrderByStartAsc(userId, item.getId());
-            itemInfoDtoList.add(toItemInfoDto(item, new ArrayList<>(), bookingList));
-        }
-
-        return itemInfoDtoList;
+    private Map<Long, Booking> toBookingByItemId(List<Booking> bookingList) {
+        return bookingList.stream()
+                .collect(Collectors.toMap(
+                        booking -> booking.getItem().getId(),
+                        Function.identity(),
+                        (first, second) -> first.getId() < second.getId() ? first : second));
     }
 
     private ItemDto toItemDto(Item item) {
@@ -191,11 +219,21 @@ public class ItemServiceImpl implements ItemService {
         return itemRowMapper.toItem(itemDto, owner);
     }
 
-    private ItemInfoDto toItemInfoDto(Item item, List<Comment> commentsList, List<Booking> bookingList) {
-        UserDto ownerDto = userRowMapper.toUserDto(item.getOwner());
-        List<CommentDto> commentDtoList = commentsList.stream().map(commentRowMapper::toCommentDto).collect(Collectors.toList());
-        List<BookingInfoDto> bookingInfoDtoList = bookingList.stream().map(bookingRowMapper::toBookingInfoDto).collect(Collectors.toList());
-        return itemRowMapper.toItemInfoDto(item, ownerDto, commentDtoList, bookingInfoDtoList);
+    private ItemInfo.BookingRef toBookingRef(Booking booking) {
+        return booking != null ? ItemInfo.BookingRef.of(booking) : null;
+    }
+
+    private ItemInfoDto toItemInfoDto(ItemInfo itemInfo, boolean withBookings) {
+        BookingInfoDto lastBookingDto = null;
+        BookingInfoDto nextBookingDto = null;
+        if (withBookings && itemInfo.getLastBooking() != null) {
+            lastBookingDto = bookingRowMapper.toBookingInfoDto(itemInfo.getLastBooking());
+        }
+        if (withBookings && itemInfo.getNextBooking() != null) {
+            nextBookingDto = bookingRowMapper.toBookingInfoDto(itemInfo.getNextBooking());
+        }
+        return itemRowMapper.toItemInfoDto(itemInfo.getItem(), new ArrayList<>(itemInfo.getComments()),
+                lastBookingDto, nextBookingDto);
     }
 
 }
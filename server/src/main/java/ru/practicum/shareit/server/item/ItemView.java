@@ -0,0 +1,36 @@
+package ru.practicum.shareit.server.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.server.user.User;
+
+@Getter
+@AllArgsConstructor
+public class ItemView {
+    public static final String SELECT = "select new ru.practicum.shareit.server.item.ItemView(" +
+            "i.id, i.name, i.description, i.available, o.id, o.name, o.email, r.id) " +
+            "from Item i join i.owner o left join i.itemRequest r ";
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Boolean available;
+    private final Long ownerId;
+    private final String ownerName;
+    private final String ownerEmail;
+    private final Long requestId;
+
+    public static ItemView of(Item item) {
+        User owner = item.getOwner();
+        return new ItemView(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                owner.getId(),
+                owner.getName(),
+                owner.getEmail(),
+                item.getItemRequest() != null ? item.getItemRequest().getId() : null
+        );
+    }
+}
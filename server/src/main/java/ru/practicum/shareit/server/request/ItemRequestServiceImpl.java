@@ -5,17 +5,20 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemRepository;
 import ru.practicum.shareit.server.item.ItemRowMapper;
+import ru.practicum.shareit.server.item.ItemView;
 import ru.practicum.shareit.server.item.dto.ItemDto;
 import ru.practicum.shareit.server.request.dto.ItemRequestDto;
 import ru.practicum.shareit.server.user.User;
 import ru.practicum.shareit.server.user.UserRepository;
 import ru.practicum.shareit.server.user.UserRowMapper;
-import ru.practicum.shareit.server.user.dto.UserDto;
 import ru.practicum.shareit.server.utils.ShareItPageRequest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.server.exception.ErrorMessage.REQUEST_NOT_FOUND_MESSAGE;
@@ -25,6 +28,7 @@ import static ru.practicum.shareit.server.exception.ErrorMessage.USER_NOT_FOUND_
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final UserRowMapper userRowMapper;
     private final ItemRowMapper itemRowMapper;
@@ -35,31 +39,31 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         checkIsUserExist(userId);
         itemRequestDto.setOwnerId(userId);
         itemRequestDto.setCreated(LocalDateTime.now());
-        return toItemRequestDto(itemRequestRepository.save(toItemRequest(itemRequestDto)));
+        return toItemRequestDtoList(List.of(itemRequestRepository.save(toItemRequest(itemRequestDto)))).get(0);
     }
 
     @Override
     public List<ItemRequestDto> getAllByUserId(Long userId) {
         checkIsUserExist(userId);
-        return itemRequestRepository.findAllByOwnerIdOrderByCreated(userId).stream().map(this::toItemRequestDto).collect(Collectors.toList());
+        return toItemRequestDtoList(itemRequestRepository.findAllByOwnerIdOrderByCreated(userId));
     }
 
     @Override
     public List<ItemRequestDto> getAllWithPagination(Integer from, Integer size, Long userId) {
         checkIsUserExist(userId);
         Pageable pageable = ShareItPageRequest.of(from, size);
-        return itemRequestRepository.findAllByIdIsNotOrderByCreated(userId, pageable).stream().map(this::toItemRequestDto).collect(Collectors.toList());
+        return toItemRequestDtoList(itemRequestRepository.findAllByIdIsNotOrderByCreated(userId, pageable));
     }
 
     @Override
     public ItemRequestDto getItemRequestById(Long userId, Long requestId) {
         checkIsUserExist(userId);
-        return toItemRequestDto(itemRequestRepository.findById(requestId)
-                .orElseThrow(() -> new NotFoundException(REQUEST_NOT_FOUND_MESSAGE)));
+        return toItemRequestDtoList(List.of(itemRequestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException(REQUEST_NOT_FOUND_MESSAGE)))).get(0);
     }
 
     private void checkIsUserExist(Long id) {
-        userRowMapper.toUserDto(userRepository.findById(id).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_MESSAGE)));
+        userRepository.findViewById(id).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_MESSAGE));
     }
 
     private ItemRequest toItemRequest(ItemRequestDto itemRequestDto) {
@@ -67,9 +71,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return itemRequestRowMapper.toItemRequest(itemRequestDto, itemList);
     }
 
-    private ItemRequestDto toItemRequestDto(ItemRequest itemRequest) {
-        List<ItemDto> itemDtoList = itemRequest.getItemList().stream().map(this::toItemDto).collect(Collectors.toList());
-        return itemRequestRowMapper.toItemRequestDto(itemRequest, itemDtoList);
+    private List<ItemRequestDto> toItemRequestDtoList(List<ItemRequest> itemRequestList) {
+        if (itemRequestList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> requestIds = itemRequestList.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemDtoByRequestId = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemView::getRequestId,
+                        Collectors.mapping(itemRowMapper::toItemDto, Collectors.toList())));
+
+        return itemRequestList.stream()
+                .map(itemRequest -> itemRequestRowMapper.toItemRequestDto(
+                        itemRequest,
+                        itemDtoByRequestId.getOrDefault(itemRequest.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
     }
 
     private Item toItem(ItemDto itemDto) {
@@ -79,13 +95,4 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         }
         return itemRowMapper.toItem(itemDto, owner);
     }
-
-    private ItemDto toItemDto(Item item) {
-        UserDto ownerDto = userRowMapper.toUserDto(item.getOwner());
-        Long requestId = null;
-        if (item.getItemRequest() != null) {
-            requestId = item.getItemRequest().getId();
-        }
-        return itemRowMapper.toItemDto(item, ownerDto, requestId);
-    }
 }
@@ -1,6 +1,16 @@
 package ru.practicum.shareit.server.user;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+import static ru.practicum.shareit.server.config.CacheConfig.USERS_CACHE;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Cacheable(cacheNames = USERS_CACHE, unless = "#result == null")
+    @Query(UserView.SELECT + "where u.id = :id")
+    Optional<UserView> findViewById(@Param("id") Long id);
 }
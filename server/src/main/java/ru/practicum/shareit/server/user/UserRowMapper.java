@@ -13,6 +13,14 @@ public class UserRowMapper {
                 .build();
     }
 
+    public UserDto toUserDto(UserView userView) {
+        return UserDto.builder()
+                .id(userView.getId())
+                .name(userView.getName())
+                .email(userView.getEmail())
+                .build();
+    }
+
     public User toUser(UserDto userDto) {
         return User.builder()
                 .id(userDto.getId() != null ? userDto.getId() : null)
@@ -1,13 +1,18 @@
 package ru.practicum.shareit.server.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.item.ItemInfoStore;
 import ru.practicum.shareit.server.user.dto.UserDto;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.server.config.CacheConfig.ITEMS_CACHE;
+import static ru.practicum.shareit.server.config.CacheConfig.USERS_CACHE;
 import static ru.practicum.shareit.server.exception.ErrorMessage.USER_NOT_FOUND_MESSAGE;
 
 @Service
@@ -18,6 +23,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRowMapper userRowMapper;
 
+    private final ItemInfoStore itemInfoStore;
+
     @Override
     public List<UserDto> getAll() {
         return userRepository.findAll().stream()
@@ -32,20 +39,31 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto getById(Long userId) {
-        return userRowMapper.toUserDto(userRepository.findById(userId).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_MESSAGE)));
+        return userRowMapper.toUserDto(userRepository.findViewById(userId).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_MESSAGE)));
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = USERS_CACHE, key = "#userId"),
+            @CacheEvict(cacheNames = ITEMS_CACHE, allEntries = true)
+    })
     public UserDto update(UserDto userDto, Long userId) {
         UserDto userDtoToUpdate = getById(userId);
         userDtoToUpdate.setName(userDto.getName() != null ? userDto.getName() : userDtoToUpdate.getName());
         userDtoToUpdate.setEmail(userDto.getEmail() != null ? userDto.getEmail() : userDtoToUpdate.getEmail());
 
-        return userRowMapper.toUserDto(userRepository.save(userRowMapper.toUser(userDtoToUpdate)));
+        UserDto updatedUserDto = userRowMapper.toUserDto(userRepository.save(userRowMapper.toUser(userDtoToUpdate)));
+        itemInfoStore.invalidateAll();
+        return updatedUserDto;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = USERS_CACHE, key = "#userId"),
+            @CacheEvict(cacheNames = ITEMS_CACHE, allEntries = true)
+    })
     public void delete(Long userId) {
         userRepository.deleteById(userId);
+        itemInfoStore.invalidateAll();
     }
 }
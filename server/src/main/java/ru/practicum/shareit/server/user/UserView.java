@@ -0,0 +1,18 @@
+package ru.practicum.shareit.server.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable snapshot of a user, safe to share through the {@code users} cache.
+ */
+@Getter
+@AllArgsConstructor
+public class UserView {
+    public static final String SELECT = "select new ru.practicum.shareit.server.user.UserView(u.id, u.name, u.email) " +
+            "from User u ";
+
+    private final Long id;
+    private final String name;
+    private final String email;
+}
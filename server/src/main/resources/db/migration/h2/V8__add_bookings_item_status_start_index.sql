@@ -0,0 +1,2 @@
+-- BookingRepository.findLastByItemIdIn; PostgreSQL has had an equivalent index since V3
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
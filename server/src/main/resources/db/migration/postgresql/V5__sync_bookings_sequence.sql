@@ -0,0 +1,2 @@
+-- Booking ids were issued by the identity column until now; continue after the highest one
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM bookings), false);
@@ -11,18 +11,29 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.server.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.server.booking.dto.ItemBookingStatsDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -71,6 +82,52 @@ class BookingControllerTest {
 
     }
 
+    @Test
+    void exportAllByOwnerIdTest() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingDto> action = invocation.getArgument(2);
+            action.accept(bookingDto);
+            action.accept(BookingDto.builder().id(2L).build());
+            return null;
+        }).when(bookingService).exportAllByOwnerId(anyLong(), anyString(), any());
+
+        MvcResult result = mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, mapper.readTree(lines[0]).get("id").asLong());
+        assertEquals(2L, mapper.readTree(lines[1]).get("id").asLong());
+    }
+
+    @Test
+    void createAllBookingsTest() throws Exception {
+        bookingDto.setStart(LocalDateTime.now().plusDays(1));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(5));
+        List<BookingBatchResultDto> results = List.of(
+                BookingBatchResultDto.builder().status(201).booking(bookingDto).build(),
+                BookingBatchResultDto.builder().status(404).error("The item not found").build());
+
+        when(bookingService.createAll(anyLong(), anyList())).thenReturn(results);
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(bookingDto, bookingDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[1].error", is("The item not found")));
+    }
+
     @Test
     void updateBookingStatusTest() throws Exception {
         when(bookingService.updateStatus(anyLong(), anyLong(), anyBoolean())).thenReturn(bookingDto);
@@ -125,4 +182,61 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class));
     }
+
+    @Test
+    void getAllBookingsByBookerIdAfterCursorTest() throws Exception {
+        bookingDto.setStart(LocalDateTime.of(2030, 1, 1, 10, 0));
+        List<BookingDto> result = List.of(bookingDto);
+
+        when(bookingService.getAllByBookerIdAfter(anyLong(), any(), anyString(), anyInt())).thenReturn(result);
+        mvc.perform(get("/bookings")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER, BookingCursor.of(bookingDto).encode()))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class));
+    }
+
+    @Test
+    void getAllBookingsByOwnerIdAfterCursorWithoutSizeTest() throws Exception {
+        when(bookingService.getAllByOwnerIdAfter(anyLong(), any(), anyString(), eq(10))).thenReturn(List.of(bookingDto));
+        mvc.perform(get("/bookings/owner")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class));
+    }
+
+    @Test
+    void getOwnerStatsTest() throws Exception {
+        BookingStatsDto stats = BookingStatsDto.builder()
+                .bookings(Map.of(BookingState.ALL, 3L))
+                .bookedSeconds(3600)
+                .items(List.of(ItemBookingStatsDto.builder()
+                        .itemId(1L)
+                        .bookings(Map.of(BookingState.ALL, 3L))
+                        .bookedSeconds(3600)
+                        .utilization(0.5)
+                        .build()))
+                .build();
+
+        when(bookingService.getOwnerStats(anyLong())).thenReturn(stats);
+        mvc.perform(get("/bookings/owner/stats")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings.ALL", is(3)))
+                .andExpect(jsonPath("$.bookedSeconds", is(3600)))
+                .andExpect(jsonPath("$.items[0].itemId", is(1)))
+                .andExpect(jsonPath("$.items[0].utilization", is(0.5)));
+    }
 }
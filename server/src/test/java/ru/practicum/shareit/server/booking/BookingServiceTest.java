@@ -5,7 +5,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.server.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.server.booking.dto.ItemBookingStatsDto;
 import ru.practicum.shareit.server.exception.BadRequestException;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.item.Item;
@@ -17,8 +20,12 @@ import ru.practicum.shareit.server.user.dto.UserDto;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static ru.practicum.shareit.server.booking.BookingState.*;
@@ -75,8 +82,8 @@ class BookingServiceTest {
                 .item(itemOne)
                 .booker(userOne)
                 .status(APPROVED)
-                .start(LocalDateTime.now().minusDays(5))
-                .end(LocalDateTime.now().minusDays(1))
+                .start(now().minusDays(5))
+                .end(now().minusDays(1))
                 .build();
 
         bookingTwo = Booking.builder()
@@ -104,8 +111,8 @@ class BookingServiceTest {
         entityManager.persist(userTwo);
         entityManager.persist(itemOne);
         itemOne.setOwner(userTwo);
-        bookingOne.setStart(LocalDateTime.now().minusDays(1));
-        bookingOne.setEnd(LocalDateTime.now().minusDays(5));
+        bookingOne.setStart(now().minusDays(1));
+        bookingOne.setEnd(now().minusDays(5));
         BookingDto bookingDto = toBookingDto(bookingOne);
 
         BadRequestException badRequestException = assertThrows(
@@ -118,6 +125,7 @@ class BookingServiceTest {
 
     @Test
     void createItemNotAvailable() {
+        entityManager.persist(userTwo);
         entityManager.persist(itemOne);
         itemOne.setOwner(userTwo);
         itemOne.setAvailable(false);
@@ -140,6 +148,113 @@ class BookingServiceTest {
         bookingService.create(userOne.getId(), bookingDto);
     }
 
+    @Test
+    void createOverlappingBooking() {
+        entityManager.persist(userTwo);
+        itemOne.setOwner(userTwo);
+        entityManager.persist(itemOne);
+        bookingOne.setStatus(WAITING);
+        bookingOne.setStart(now().plusDays(1));
+        bookingOne.setEnd(now().plusDays(5));
+        entityManager.persist(bookingOne);
+        BookingDto bookingDto = toBookingDto(bookingOne);
+        bookingDto.setId(null);
+        bookingDto.setStart(now().plusDays(4));
+        bookingDto.setEnd(now().plusDays(8));
+
+        BadRequestException badRequestException = assertThrows(
+                BadRequestException.class,
+                () -> bookingService.create(userOne.getId(), bookingDto)
+        );
+
+        assertEquals("The item is already booked for these dates", badRequestException.getMessage());
+    }
+
+    @Test
+    void createOverlappingRejectedBookingSuccess() {
+        entityManager.persist(userTwo);
+        itemOne.setOwner(userTwo);
+        entityManager.persist(itemOne);
+        bookingOne.setStatus(REJECTED);
+        bookingOne.setStart(now().plusDays(1));
+        bookingOne.setEnd(now().plusDays(5));
+        entityManager.persist(bookingOne);
+        BookingDto bookingDto = toBookingDto(bookingOne);
+        bookingDto.setId(null);
+
+        assertEquals(WAITING, bookingService.create(userOne.getId(), bookingDto).getStatus());
+    }
+
+    @Test
+    void createAdjacentToApprovedBookingSuccess() {
+        LocalDateTime start = now().plusDays(2).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(3);
+        entityManager.persist(userTwo);
+        itemOne.setOwner(userTwo);
+        entityManager.persist(itemOne);
+        bookingOne.setStart(start);
+        bookingOne.setEnd(end);
+        entityManager.persist(bookingOne);
+        BookingDto before = toBookingDto(bookingOne);
+        before.setId(null);
+        before.setStart(start.minusDays(1));
+        before.setEnd(start);
+        BookingDto after = toBookingDto(bookingOne);
+        after.setId(null);
+        after.setStart(end);
+        after.setEnd(end.plusDays(1));
+
+        assertEquals(WAITING, bookingService.create(userOne.getId(), before).getStatus());
+        assertEquals(WAITING, bookingService.create(userOne.getId(), after).getStatus());
+    }
+
+    @Test
+    void updateStatusApprovedAdjacent() {
+        LocalDateTime start = now().plusDays(2).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(3);
+        entityManager.persist(userTwo);
+        entityManager.persist(itemOne);
+        bookingOne.setStatus(WAITING);
+        bookingOne.setStart(end);
+        bookingOne.setEnd(end.plusDays(1));
+        entityManager.persist(bookingOne);
+        Booking approvedBooking = Booking.builder()
+                .item(itemOne)
+                .booker(userTwo)
+                .status(APPROVED)
+                .start(start)
+                .end(end)
+                .build();
+        entityManager.persist(approvedBooking);
+
+        assertEquals(APPROVED, bookingService.updateStatus(userOne.getId(), bookingOne.getId(), true).getStatus());
+    }
+
+    @Test
+    void updateStatusApprovedOverlapping() {
+        entityManager.persist(userTwo);
+        entityManager.persist(itemOne);
+        bookingOne.setStatus(REJECTED);
+        bookingOne.setStart(now().plusDays(1));
+        bookingOne.setEnd(now().plusDays(5));
+        entityManager.persist(bookingOne);
+        Booking approvedBooking = Booking.builder()
+                .item(itemOne)
+                .booker(userTwo)
+                .status(APPROVED)
+                .start(now().plusDays(2))
+                .end(now().plusDays(3))
+                .build();
+        entityManager.persist(approvedBooking);
+
+        BadRequestException badRequestException = assertThrows(
+                BadRequestException.class,
+                () -> bookingService.updateStatus(userOne.getId(), bookingOne.getId(), true)
+        );
+
+        assertEquals("The item is already booked for these dates", badRequestException.getMessage());
+    }
+
     @Test
     void updateStatusAccessDenied() {
         entityManager.persist(userTwo);
@@ -230,8 +345,8 @@ class BookingServiceTest {
     void getAllByOwnerIdSuccess() {
         entityManager.persist(itemOne);
         bookingTwo.setStatus(APPROVED);
-        bookingTwo.setStart(LocalDateTime.now().plusDays(1));
-        bookingTwo.setEnd(LocalDateTime.now().plusDays(10));
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -245,12 +360,46 @@ class BookingServiceTest {
         assertIterableEquals(expectedList, actualList);
     }
 
+    @Test
+    void getAllByOwnerIdWithOffsetSuccess() {
+        entityManager.persist(itemOne);
+        bookingTwo.setStatus(APPROVED);
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
+        bookingTwo.setBooker(userOne);
+        entityManager.persist(itemTwo);
+        entityManager.persist(bookingOne);
+        entityManager.persist(bookingTwo);
+        List<BookingDto> expectedList = List.of(toBookingDto(bookingOne));
+
+        List<BookingDto> actualList = bookingService.getAllByOwnerId(userOne.getId(), "ALL", 1, 1);
+
+        assertIterableEquals(expectedList, actualList);
+    }
+
+    @Test
+    void getAllCanceledByOwnerIdSuccess() {
+        entityManager.persist(itemOne);
+        bookingTwo.setStatus(CANCELED);
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
+        bookingTwo.setBooker(userOne);
+        entityManager.persist(itemTwo);
+        entityManager.persist(bookingOne);
+        entityManager.persist(bookingTwo);
+        List<BookingDto> expectedList = List.of(toBookingDto(bookingTwo));
+
+        List<BookingDto> actualList = bookingService.getAllByOwnerId(userOne.getId(), "CANCELED", 0, 10);
+
+        assertIterableEquals(expectedList, actualList);
+    }
+
     @Test
     void getAllApprovedOwnerIdSuccess() {
         entityManager.persist(itemOne);
         bookingTwo.setStatus(APPROVED);
-        bookingTwo.setStart(LocalDateTime.now().plusDays(1));
-        bookingTwo.setEnd(LocalDateTime.now().plusDays(10));
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -269,8 +418,8 @@ class BookingServiceTest {
         entityManager.persist(itemOne);
         bookingOne.setStatus(WAITING);
         bookingTwo.setStatus(WAITING);
-        bookingTwo.setStart(LocalDateTime.now().plusDays(1));
-        bookingTwo.setEnd(LocalDateTime.now().plusDays(10));
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -289,8 +438,8 @@ class BookingServiceTest {
         entityManager.persist(itemOne);
         bookingOne.setStatus(REJECTED);
         bookingTwo.setStatus(REJECTED);
-        bookingTwo.setStart(LocalDateTime.now().plusDays(1));
-        bookingTwo.setEnd(LocalDateTime.now().plusDays(10));
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -309,8 +458,8 @@ class BookingServiceTest {
         entityManager.persist(itemOne);
         bookingOne.setStatus(FUTURE);
         bookingTwo.setStatus(APPROVED);
-        bookingOne.setStart(LocalDateTime.now().plusDays(2));
-        bookingTwo.setStart(LocalDateTime.now().plusDays(1));
+        bookingOne.setStart(now().plusDays(2));
+        bookingTwo.setStart(now().plusDays(1));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -329,8 +478,8 @@ class BookingServiceTest {
         entityManager.persist(itemOne);
         bookingOne.setStatus(APPROVED);
         bookingTwo.setStatus(APPROVED);
-        bookingOne.setEnd(LocalDateTime.now().minusDays(5));
-        bookingTwo.setEnd(LocalDateTime.now().minusDays(10));
+        bookingOne.setEnd(now().minusDays(5));
+        bookingTwo.setEnd(now().minusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -349,10 +498,10 @@ class BookingServiceTest {
         entityManager.persist(itemOne);
         bookingOne.setStatus(APPROVED);
         bookingTwo.setStatus(APPROVED);
-        bookingOne.setStart(LocalDateTime.now().minusDays(12));
-        bookingOne.setEnd(LocalDateTime.now().plusDays(5));
-        bookingTwo.setStart(LocalDateTime.now().minusDays(11));
-        bookingTwo.setEnd(LocalDateTime.now().plusDays(10));
+        bookingOne.setStart(now().minusDays(12));
+        bookingOne.setEnd(now().plusDays(5));
+        bookingTwo.setStart(now().minusDays(11));
+        bookingTwo.setEnd(now().plusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -380,8 +529,8 @@ class BookingServiceTest {
     void getAllByBookerIdSuccess() {
         entityManager.persist(itemOne);
         bookingTwo.setStatus(APPROVED);
-        bookingTwo.setStart(LocalDateTime.now().plusDays(1));
-        bookingTwo.setEnd(LocalDateTime.now().plusDays(10));
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -399,8 +548,8 @@ class BookingServiceTest {
     void getAllApprovedByBookerIdSuccess() {
         entityManager.persist(itemOne);
         bookingTwo.setStatus(APPROVED);
-        bookingTwo.setStart(LocalDateTime.now().plusDays(1));
-        bookingTwo.setEnd(LocalDateTime.now().plusDays(10));
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -419,8 +568,8 @@ class BookingServiceTest {
         entityManager.persist(itemOne);
         bookingOne.setStatus(WAITING);
         bookingTwo.setStatus(WAITING);
-        bookingTwo.setStart(LocalDateTime.now().plusDays(1));
-        bookingTwo.setEnd(LocalDateTime.now().plusDays(10));
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -439,8 +588,8 @@ class BookingServiceTest {
         entityManager.persist(itemOne);
         bookingOne.setStatus(REJECTED);
         bookingTwo.setStatus(REJECTED);
-        bookingTwo.setStart(LocalDateTime.now().plusDays(1));
-        bookingTwo.setEnd(LocalDateTime.now().plusDays(10));
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -459,8 +608,8 @@ class BookingServiceTest {
         entityManager.persist(itemOne);
         bookingOne.setStatus(FUTURE);
         bookingTwo.setStatus(APPROVED);
-        bookingOne.setStart(LocalDateTime.now().plusDays(2));
-        bookingTwo.setStart(LocalDateTime.now().plusDays(1));
+        bookingOne.setStart(now().plusDays(2));
+        bookingTwo.setStart(now().plusDays(1));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -479,8 +628,8 @@ class BookingServiceTest {
         entityManager.persist(itemOne);
         bookingOne.setStatus(APPROVED);
         bookingTwo.setStatus(APPROVED);
-        bookingOne.setEnd(LocalDateTime.now().minusDays(5));
-        bookingTwo.setEnd(LocalDateTime.now().minusDays(10));
+        bookingOne.setEnd(now().minusDays(5));
+        bookingTwo.setEnd(now().minusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
@@ -499,17 +648,17 @@ class BookingServiceTest {
         entityManager.persist(itemOne);
         bookingOne.setStatus(APPROVED);
         bookingTwo.setStatus(APPROVED);
-        bookingOne.setStart(LocalDateTime.now().minusDays(12));
-        bookingOne.setEnd(LocalDateTime.now().plusDays(5));
-        bookingTwo.setStart(LocalDateTime.now().minusDays(11));
-        bookingTwo.setEnd(LocalDateTime.now().plusDays(10));
+        bookingOne.setStart(now().minusDays(12));
+        bookingOne.setEnd(now().plusDays(5));
+        bookingTwo.setStart(now().minusDays(11));
+        bookingTwo.setEnd(now().plusDays(10));
         bookingTwo.setBooker(userOne);
         entityManager.persist(itemTwo);
         entityManager.persist(bookingOne);
         entityManager.persist(bookingTwo);
         BookingDto bookingDtoOne = toBookingDto(bookingOne);
         BookingDto bookingDtoTwo = toBookingDto(bookingTwo);
-        List<BookingDto> expectedList = List.of(bookingDtoOne, bookingDtoTwo);
+        List<BookingDto> expectedList = List.of(bookingDtoTwo, bookingDtoOne);
 
         List<BookingDto> actualList = bookingService.getAllByBookerId(userOne.getId(), "CURRENT", 0, 10);
 
@@ -526,6 +675,187 @@ class BookingServiceTest {
         assertEquals("Unknown state: UNKNOWN_STATE", badRequestException.getMessage());
     }
 
+    @Test
+    void getAllByOwnerIdAfterCursorSuccess() {
+        entityManager.persist(itemOne);
+        bookingOne.setStart(now().minusDays(5).truncatedTo(ChronoUnit.SECONDS));
+        bookingTwo.setStatus(APPROVED);
+        bookingTwo.setStart(now().plusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        bookingTwo.setEnd(now().plusDays(10));
+        bookingTwo.setBooker(userOne);
+        entityManager.persist(itemTwo);
+        entityManager.persist(bookingOne);
+        entityManager.persist(bookingTwo);
+
+        List<BookingDto> firstPage = bookingService.getAllByOwnerIdAfter(userOne.getId(), "ALL", "", 1);
+        String cursor = BookingCursor.of(firstPage.get(0)).encode();
+        List<BookingDto> secondPage = bookingService.getAllByOwnerIdAfter(userOne.getId(), "ALL", cursor, 1);
+        String lastCursor = BookingCursor.of(secondPage.get(0)).encode();
+
+        assertIterableEquals(List.of(toBookingDto(bookingTwo)), firstPage);
+        assertIterableEquals(List.of(toBookingDto(bookingOne)), secondPage);
+        assertTrue(bookingService.getAllByOwnerIdAfter(userOne.getId(), "ALL", lastCursor, 1).isEmpty());
+    }
+
+    @Test
+    void getAllPastByBookerIdAfterCursorSuccess() {
+        entityManager.persist(itemOne);
+        bookingTwo.setStatus(APPROVED);
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
+        bookingTwo.setBooker(userOne);
+        entityManager.persist(itemTwo);
+        entityManager.persist(bookingOne);
+        entityManager.persist(bookingTwo);
+
+        List<BookingDto> actualList = bookingService.getAllByBookerIdAfter(userOne.getId(), "PAST", "", 10);
+
+        assertIterableEquals(List.of(toBookingDto(bookingOne)), actualList);
+    }
+
+    @Test
+    void getAllByBookerIdInvalidCursor() {
+        BadRequestException badRequestException = assertThrows(
+                BadRequestException.class,
+                () -> bookingService.getAllByBookerIdAfter(userOne.getId(), "ALL", "not-a-cursor", 10)
+        );
+
+        assertEquals("Invalid cursor: not-a-cursor", badRequestException.getMessage());
+    }
+
+    @Test
+    void exportAllByOwnerIdSuccess() {
+        entityManager.persist(itemOne);
+        bookingTwo.setStatus(WAITING);
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
+        bookingTwo.setBooker(userOne);
+        entityManager.persist(itemTwo);
+        entityManager.persist(bookingOne);
+        entityManager.persist(bookingTwo);
+        List<BookingDto> exported = new ArrayList<>();
+
+        bookingService.exportAllByOwnerId(userOne.getId(), "ALL", exported::add);
+
+        assertIterableEquals(List.of(toBookingDto(bookingTwo), toBookingDto(bookingOne)), exported);
+    }
+
+    @Test
+    void exportAllWaitingByBookerIdSuccess() {
+        entityManager.persist(itemOne);
+        bookingTwo.setStatus(WAITING);
+        bookingTwo.setStart(now().plusDays(1));
+        bookingTwo.setEnd(now().plusDays(10));
+        bookingTwo.setBooker(userOne);
+        entityManager.persist(itemTwo);
+        entityManager.persist(bookingOne);
+        entityManager.persist(bookingTwo);
+        List<BookingDto> exported = new ArrayList<>();
+
+        bookingService.exportAllByBookerId(userOne.getId(), "WAITING", exported::add);
+
+        assertIterableEquals(List.of(toBookingDto(bookingTwo)), exported);
+    }
+
+    @Test
+    void exportAllByOwnerIdUserNotFound() {
+        assertThrows(NotFoundException.class, () -> bookingService.exportAllByOwnerId(-1L, "ALL", booking -> {
+        }));
+    }
+
+    @Test
+    void createAllReturnsResultPerEntry() {
+        LocalDateTime now = now();
+        entityManager.persist(userTwo);
+        entityManager.persist(itemOne);
+        itemTwo.setOwner(userTwo);
+        entityManager.persist(itemTwo);
+        List<BookingDto> bookingDtos = List.of(
+                BookingDto.builder().itemId(itemTwo.getId()).start(now.plusDays(1)).end(now.plusDays(2)).build(),
+                BookingDto.builder().itemId(itemTwo.getId()).start(now.plusDays(1).plusHours(1)).end(now.plusDays(3)).build(),
+                BookingDto.builder().itemId(itemOne.getId()).start(now.plusDays(1)).end(now.plusDays(2)).build(),
+                BookingDto.builder().itemId(-1L).start(now.plusDays(1)).end(now.plusDays(2)).build(),
+                BookingDto.builder().itemId(itemTwo.getId()).start(now.plusDays(2)).end(now.plusDays(1)).build(),
+                BookingDto.builder().itemId(itemTwo.getId()).start(now.plusDays(3)).end(now.plusDays(4)).build());
+
+        List<BookingBatchResultDto> results = bookingService.createAll(userOne.getId(), bookingDtos);
+
+        assertEquals(List.of(201, 400, 404, 404, 400, 201), results.stream()
+                .map(BookingBatchResultDto::getStatus)
+                .collect(Collectors.toList()));
+        assertEquals("The item is already booked for these dates", results.get(1).getError());
+        assertEquals("Access denied", results.get(2).getError());
+        assertEquals("The item not found", results.get(3).getError());
+        assertEquals("The start date should be earlier than the end date", results.get(4).getError());
+        BookingDto created = results.get(5).getBooking();
+        assertEquals(WAITING, created.getStatus());
+        assertEquals(userTwo.getId(), created.getItemDto().getOwnerDto().getId());
+        assertEquals(created, bookingService.getById(userOne.getId(), created.getId()));
+    }
+
+    @Test
+    void createAllRejectsOverlapWithExistingBooking() {
+        LocalDateTime now = now();
+        entityManager.persist(userTwo);
+        itemTwo.setOwner(userTwo);
+        entityManager.persist(itemTwo);
+        bookingTwo.setStatus(APPROVED);
+        bookingTwo.setStart(now.plusDays(1));
+        bookingTwo.setEnd(now.plusDays(3));
+        entityManager.persist(bookingTwo);
+        List<BookingDto> bookingDtos = List.of(
+                BookingDto.builder().itemId(itemTwo.getId()).start(now.plusDays(2)).end(now.plusDays(4)).build(),
+                BookingDto.builder().itemId(itemTwo.getId()).start(now.plusDays(3)).end(now.plusDays(4)).build());
+
+        List<BookingBatchResultDto> results = bookingService.createAll(userOne.getId(), bookingDtos);
+
+        assertEquals(400, results.get(0).getStatus());
+        assertEquals(201, results.get(1).getStatus());
+    }
+
+    @Test
+    void getOwnerStatsSuccess() {
+        LocalDateTime now = now();
+        entityManager.persist(userTwo);
+        entityManager.persist(itemOne);
+        entityManager.persist(itemTwo);
+        bookingOne.setStart(now.minusDays(5));
+        bookingOne.setEnd(now.minusDays(1));
+        bookingTwo.setStatus(WAITING);
+        bookingTwo.setStart(now.plusDays(1));
+        bookingTwo.setEnd(now.plusDays(3));
+        entityManager.persist(bookingOne);
+        entityManager.persist(bookingTwo);
+
+        BookingStatsDto stats = bookingService.getOwnerStats(userOne.getId());
+
+        assertEquals(2, stats.getBookings().get(ALL));
+        assertEquals(Duration.ofDays(4).toSeconds(), stats.getBookedSeconds());
+        assertEquals(2, stats.getItems().size());
+        ItemBookingStatsDto itemOneStats = stats.getItems().get(0);
+        assertEquals(itemOne.getId(), itemOneStats.getItemId());
+        assertEquals(1, itemOneStats.getBookings().get(APPROVED));
+        assertEquals(1, itemOneStats.getBookings().get(PAST));
+        assertEquals(0, itemOneStats.getBookings().get(FUTURE));
+        assertEquals(1.0, itemOneStats.getUtilization());
+        ItemBookingStatsDto itemTwoStats = stats.getItems().get(1);
+        assertEquals(itemTwo.getId(), itemTwoStats.getItemId());
+        assertEquals(1, itemTwoStats.getBookings().get(WAITING));
+        assertEquals(1, itemTwoStats.getBookings().get(FUTURE));
+        assertEquals(0, itemTwoStats.getBookedSeconds());
+        assertEquals(0.0, itemTwoStats.getUtilization());
+    }
+
+    @Test
+    void getOwnerStatsWithoutItems() {
+        entityManager.persist(userTwo);
+
+        BookingStatsDto stats = bookingService.getOwnerStats(userTwo.getId());
+
+        assertTrue(stats.getItems().isEmpty());
+        assertEquals(0, stats.getBookedSeconds());
+    }
+
     private BookingDto toBookingDto(Booking booking) {
         UserDto bookerDto = userRowMapper.toUserDto(booking.getBooker());
         ItemDto itemDto = toItemDto(booking.getItem());
@@ -540,4 +870,8 @@ class BookingServiceTest {
         }
         return itemRowMapper.toItemDto(item, ownerDto, requestId);
     }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.server.comment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.server.comment.dto.CommentDto;
+import ru.practicum.shareit.server.exception.BadRequestException;
+import ru.practicum.shareit.server.item.ItemService;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.dto.ItemInfoDto;
+import ru.practicum.shareit.server.user.UserService;
+import ru.practicum.shareit.server.user.dto.UserDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.server.exception.ErrorMessage.ACCESS_DENIED_MESSAGE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.comments.batching.enabled=true")
+class CommentWriterTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(UserDto.builder().name("Name of owner").email("writerowner@mail.com").build());
+        booker = userService.create(UserDto.builder().name("Name of booker").email("writerbooker@mail.com").build());
+        item = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Name of item")
+                .description("Description of item")
+                .available(true)
+                .build());
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                        "values (?, ?, ?, ?, 'APPROVED')",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(2)),
+                Timestamp.valueOf(LocalDateTime.now().minusDays(1)),
+                item.getId(), booker.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from comments where item_id = ?", item.getId());
+        jdbcTemplate.update("delete from bookings where item_id = ?", item.getId());
+        jdbcTemplate.update("delete from items where id = ?", item.getId());
+        jdbcTemplate.update("delete from users where id in (?, ?)", owner.getId(), booker.getId());
+    }
+
+    @Test
+    void commentIsWrittenBeforeAddCommentReturnsTest() {
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Comment of item");
+
+        CommentDto actualCommentDto = itemService.addComment(booker.getId(), item.getId(), commentDto);
+
+        assertNotNull(actualCommentDto.getId());
+        assertNotNull(actualCommentDto.getCreated());
+        List<CommentView> written = commentRepository.findAllByItemIdIn(List.of(item.getId()));
+        assertEquals(1, written.size());
+        assertEquals(actualCommentDto.getId(), written.get(0).getId());
+        ItemInfoDto itemInfoDto = itemService.getById(booker.getId(), item.getId());
+        assertEquals(1, itemInfoDto.getCommentsDtoList().size());
+        assertEquals(actualCommentDto.getId(), itemInfoDto.getCommentsDtoList().get(0).getId());
+    }
+
+    @Test
+    void concurrentCommentsAreAllWrittenTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<CommentDto>> futures = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            CommentDto commentDto = new CommentDto();
+            commentDto.setText("Comment " + i);
+            futures.add(executor.submit(() -> itemService.addComment(booker.getId(), item.getId(), commentDto)));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Future<CommentDto> future : futures) {
+            ids.add(future.get().getId());
+        }
+        executor.shutdown();
+
+        assertEquals(40, ids.size());
+        assertEquals(ids, commentRepository.findAllByItemIdIn(List.of(item.getId())).stream()
+                .map(CommentView::getId)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void commentWithoutBookingIsRejectedTest() {
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Comment of item");
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> itemService.addComment(owner.getId(), item.getId(), commentDto));
+
+        assertEquals(ACCESS_DENIED_MESSAGE, exception.getMessage());
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.server.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import ru.practicum.shareit.server.booking.BookingService;
+import ru.practicum.shareit.server.booking.BookingState;
+import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemService;
+import ru.practicum.shareit.server.item.ItemView;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserService;
+import ru.practicum.shareit.server.user.UserView;
+import ru.practicum.shareit.server.user.dto.UserDto;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.server.config.CacheConfig.BOOKING_STATS_CACHE;
+import static ru.practicum.shareit.server.config.CacheConfig.ITEMS_CACHE;
+import static ru.practicum.shareit.server.config.CacheConfig.USERS_CACHE;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "spring.cache.type=caffeine")
+class CacheConfigTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManager entityManager;
+    private User user;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> getCache(name).clear());
+
+        user = User.builder()
+                .name("Name of user")
+                .email("cacheduser@mail.com")
+                .build();
+        entityManager.persist(user);
+
+        item = Item.builder()
+                .name("Name of item")
+                .description("Description of item")
+                .available(true)
+                .owner(user)
+                .build();
+        entityManager.persist(item);
+    }
+
+    @Test
+    void userIsCachedAndEvictedOnUpdateTest() {
+        userService.getById(user.getId());
+        assertInstanceOf(UserView.class, getCache(USERS_CACHE).get(user.getId(), Object.class));
+
+        userService.update(UserDto.builder().name("Updated name").build(), user.getId());
+
+        assertNull(getCache(USERS_CACHE).get(user.getId()));
+        assertEquals("Updated name", userService.getById(user.getId()).getName());
+    }
+
+    @Test
+    void missingUserIsNotCachedTest() {
+        assertThrows(NotFoundException.class, () -> userService.getById(-1L));
+
+        assertNull(getCache(USERS_CACHE).get(-1L));
+    }
+
+    @Test
+    void itemIsCachedAndEvictedOnUpdateTest() {
+        itemService.getById(user.getId(), item.getId());
+        assertInstanceOf(ItemView.class, getCache(ITEMS_CACHE).get(item.getId(), Object.class));
+
+        itemService.update(user.getId(), ItemDto.builder().name("Updated name").build(), item.getId());
+
+        assertNull(getCache(ITEMS_CACHE).get(item.getId()));
+        assertEquals("Updated name", itemService.getById(user.getId(), item.getId()).getName());
+    }
+
+    @Test
+    void ownerStatsAreCachedAndEvictedOnBookingTest() {
+        User booker = User.builder()
+                .name("Name of booker")
+                .email("cachedbooker@mail.com")
+                .build();
+        entityManager.persist(booker);
+        bookingService.getOwnerStats(user.getId());
+        assertNotNull(getCache(BOOKING_STATS_CACHE).get(user.getId()));
+
+        bookingService.create(booker.getId(), BookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+
+        assertNull(getCache(BOOKING_STATS_CACHE).get(user.getId()));
+        assertEquals(1, bookingService.getOwnerStats(user.getId()).getBookings().get(BookingState.WAITING));
+    }
+
+    private Cache getCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        assertNotNull(cache);
+        return cache;
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.server.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.server.booking.BookingService;
+import ru.practicum.shareit.server.exception.BadRequestException;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserService;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.server.config.ServiceMetricsAspect.METRIC_NAME;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ServiceMetricsAspectTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EntityManager entityManager;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .name("Name of user")
+                .email("metricsuser@mail.com")
+                .build();
+        entityManager.persist(user);
+    }
+
+    @Test
+    void serviceCallIsTimedByStateAndOutcomeTest() {
+        long before = count("getAllByBookerId", "PAST", "SUCCESS");
+
+        bookingService.getAllByBookerId(user.getId(), "PAST", 0, 10);
+
+        assertEquals(before + 1, count("getAllByBookerId", "PAST", "SUCCESS"));
+    }
+
+    @Test
+    void failedServiceCallIsTimedByOutcomeTest() {
+        long notFoundBefore = count("getById", "None", "NOT_FOUND");
+        long badRequestBefore = count("getAllByOwnerId", "UNKNOWN", "BAD_REQUEST");
+
+        assertThrows(NotFoundException.class, () -> userService.getById(-1L));
+        assertThrows(BadRequestException.class, () -> bookingService.getAllByOwnerId(user.getId(), "SOMETIME", 0, 10));
+
+        assertEquals(notFoundBefore + 1, count("getById", "None", "NOT_FOUND"));
+        assertEquals(badRequestBefore + 1, count("getAllByOwnerId", "UNKNOWN", "BAD_REQUEST"));
+    }
+
+    private long count(String method, String state, String outcome) {
+        return meterRegistry.find(METRIC_NAME)
+                .tag("method", method)
+                .tag("state", state)
+                .tag("outcome", outcome)
+                .timers()
+                .stream()
+                .mapToLong(timer -> timer.count())
+                .sum();
+    }
+}
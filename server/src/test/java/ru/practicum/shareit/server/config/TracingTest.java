@@ -0,0 +1,85 @@
+package ru.practicum.shareit.server.config;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.user.User;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+class TracingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Test
+    void requestContinuesGatewayTraceDownToJdbcTest() throws Exception {
+        User user = User.builder()
+                .name("Name of user")
+                .email("traceduser@mail.com")
+                .build();
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+        spanExporter.reset();
+
+        mvc.perform(get("/users/{id}", user.getId())
+                        .header("traceparent", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01"))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData server = find(spans, "GET /users/{id}");
+        SpanData service = find(spans, "UserServiceImpl.getById");
+        assertEquals(SpanKind.SERVER, server.getKind());
+        assertEquals(TRACE_ID, server.getTraceId());
+        assertEquals(PARENT_SPAN_ID, server.getParentSpanId());
+        assertEquals(server.getSpanId(), service.getParentSpanId());
+        assertTrue(spans.stream().anyMatch(span -> span.getKind() == SpanKind.CLIENT
+                        && span.getTraceId().equals(TRACE_ID)
+                        && span.getParentSpanId().equals(service.getSpanId())),
+                spans::toString);
+    }
+
+    private static SpanData find(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(name + " not in " + spans));
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter spanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -68,10 +68,17 @@ class ItemControllerTest {
     @Test
     void searchItemTest() throws Exception {
         List<ItemDto> itemDtoList = List.of(itemDto);
-        when(itemService.search(anyLong(), anyString())).thenReturn(itemDtoList);
+        when(itemService.search(anyLong(), anyString(), anyInt(), isNull())).thenReturn(itemDtoList);
         mvc.perform(get("/items/search?text=search").characterEncoding(StandardCharsets.UTF_8).contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON).header("X-Sharer-User-Id", 1)).andExpect(status().isOk()).andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class));
     }
 
+    @Test
+    void searchItemWithSizeTest() throws Exception {
+        List<ItemDto> itemDtoList = List.of(itemDto);
+        when(itemService.search(anyLong(), anyString(), eq(5), eq(5))).thenReturn(itemDtoList);
+        mvc.perform(get("/items/search?text=search&from=5&size=5").characterEncoding(StandardCharsets.UTF_8).contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON).header("X-Sharer-User-Id", 1)).andExpect(status().isOk()).andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class));
+    }
+
     @Test
     void getItemByIdTest() throws Exception {
         when(itemService.getById(anyLong(), anyLong())).thenReturn(itemInfoDto);
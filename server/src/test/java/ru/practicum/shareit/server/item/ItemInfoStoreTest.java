@@ -0,0 +1,156 @@
+package ru.practicum.shareit.server.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.server.booking.BookingService;
+import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.comment.dto.CommentDto;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.dto.ItemInfoDto;
+import ru.practicum.shareit.server.user.UserService;
+import ru.practicum.shareit.server.user.dto.UserDto;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "spring.cache.type=caffeine")
+class ItemInfoStoreTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemInfoStore itemInfoStore;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> getCache(name).clear());
+        owner = userService.create(UserDto.builder().name("Name of owner").email("infoowner@mail.com").build());
+        booker = userService.create(UserDto.builder().name("Name of booker").email("infobooker@mail.com").build());
+        item = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Name of item")
+                .description("Description of item")
+                .available(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from comments where item_id = ?", item.getId());
+        jdbcTemplate.update("delete from bookings where item_id = ?", item.getId());
+        jdbcTemplate.update("delete from items where id = ?", item.getId());
+        jdbcTemplate.update("delete from users where id in (?, ?)", owner.getId(), booker.getId());
+    }
+
+    @Test
+    void itemInfoIsPatchedByItemAndBookingChangesTest() {
+        itemService.getById(owner.getId(), item.getId());
+        assertNotNull(getCachedItemInfo());
+
+        itemService.update(owner.getId(), ItemDto.builder().name("Updated name").build(), item.getId());
+        BookingDto booking = bookingService.create(booker.getId(), BookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+
+        ItemInfo cached = getCachedItemInfo();
+        assertEquals("Updated name", cached.getItem().getName());
+        assertEquals(booking.getId(), cached.getNextBooking().getId());
+        ItemInfoDto itemInfoDto = itemService.getById(owner.getId(), item.getId());
+        assertEquals("Updated name", itemInfoDto.getName());
+        assertEquals(booking.getId(), itemInfoDto.getNextBookingDto().getId());
+        assertNull(itemService.getById(booker.getId(), item.getId()).getNextBookingDto());
+    }
+
+    @Test
+    void itemInfoIsPatchedByCommentTest() {
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                        "values (?, ?, ?, ?, 'APPROVED')",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(2)),
+                Timestamp.valueOf(LocalDateTime.now().minusDays(1)),
+                item.getId(), booker.getId());
+        itemService.getById(owner.getId(), item.getId());
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Comment of item");
+
+        CommentDto addedCommentDto = itemService.addComment(booker.getId(), item.getId(), commentDto);
+
+        assertEquals(1, getCachedItemInfo().getComments().size());
+        assertEquals(addedCommentDto.getId(),
+                itemService.getById(owner.getId(), item.getId()).getCommentsDtoList().get(0).getId());
+    }
+
+    @Test
+    void rejectedLastBookingIsDroppedTest() {
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                        "values (?, ?, ?, ?, 'APPROVED')",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(2)),
+                Timestamp.valueOf(LocalDateTime.now().minusDays(1)),
+                item.getId(), booker.getId());
+        Long bookingId = itemService.getById(owner.getId(), item.getId()).getLastBookingDto().getId();
+
+        bookingService.updateStatus(owner.getId(), bookingId, false);
+
+        assertNull(getCachedItemInfo());
+        assertNull(itemService.getById(owner.getId(), item.getId()).getLastBookingDto());
+    }
+
+    @Test
+    void itemInfoIsInvalidatedOnOwnerUpdateTest() {
+        itemService.getById(owner.getId(), item.getId());
+
+        userService.update(UserDto.builder().name("Updated name").build(), owner.getId());
+
+        assertNull(getCachedItemInfo());
+        assertEquals("Updated name", itemService.getById(owner.getId(), item.getId()).getOwnerDto().getName());
+    }
+
+    @Test
+    void itemInfoIsReloadedOnceOlderThanTtlTest() throws InterruptedException {
+        itemService.getById(owner.getId(), item.getId());
+        ItemInfo cached = getCachedItemInfo();
+        AtomicInteger loads = new AtomicInteger();
+        Thread.sleep(5);
+
+        new ItemInfoStore(cacheManager, Duration.ofHours(1)).get(item.getId(), () -> {
+            loads.incrementAndGet();
+            return cached;
+        });
+        assertEquals(0, loads.get());
+        new ItemInfoStore(cacheManager, Duration.ofMillis(1)).get(item.getId(), () -> {
+            loads.incrementAndGet();
+            return cached;
+        });
+        assertEquals(1, loads.get());
+    }
+
+    private ItemInfo getCachedItemInfo() {
+        return itemInfoStore.getCached(item.getId());
+    }
+
+    private Cache getCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        assertNotNull(cache);
+        return cache;
+    }
+}
@@ -20,6 +20,8 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static ru.practicum.shareit.server.booking.BookingState.APPROVED;
+import static ru.practicum.shareit.server.booking.BookingState.REJECTED;
+import static ru.practicum.shareit.server.booking.BookingState.WAITING;
 import static ru.practicum.shareit.server.exception.ErrorMessage.REQUEST_NOT_FOUND_MESSAGE;
 import static ru.practicum.shareit.server.exception.ErrorMessage.USER_NOT_FOUND_MESSAGE;
 
@@ -208,7 +210,7 @@ public class ItemServiceTest {
         itemOne.setOwner(userOne);
         entityManager.persist(itemOne);
 
-        List<ItemDto> actualItemDtoList = itemService.search(userOne.getId(), "descr");
+        List<ItemDto> actualItemDtoList = itemService.search(userOne.getId(), "descr", 0, 10);
 
         assertTrue(actualItemDtoList.get(0).getDescription().toLowerCase().contains("descr"));
     }
@@ -218,8 +220,155 @@ public class ItemServiceTest {
         itemOne.setOwner(userOne);
         entityManager.persist(itemOne);
 
-        List<ItemDto> actualItemDtoList = itemService.search(userOne.getId(), "name");
+        List<ItemDto> actualItemDtoList = itemService.search(userOne.getId(), "name", 0, 10);
 
         assertTrue(actualItemDtoList.get(0).getName().toLowerCase().contains("name"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchSkipsNotAvailableItemsTest() {
+        itemOne.setOwner(userOne);
+        itemOne.setAvailable(false);
+        entityManager.persist(itemOne);
+
+        List<ItemDto> actualItemDtoList = itemService.search(userOne.getId(), "item", 0, 10);
+
+        assertTrue(actualItemDtoList.isEmpty());
+    }
+
+    @Test
+    void searchTreatsWildcardsLiterallyTest() {
+        itemOne.setOwner(userOne);
+        entityManager.persist(itemOne);
+
+        List<ItemDto> actualItemDtoList = itemService.search(userOne.getId(), "%", 0, 10);
+
+        assertTrue(actualItemDtoList.isEmpty());
+    }
+
+    @Test
+    void searchWithoutSizeReturnsEveryMatchTest() {
+        itemOne.setOwner(userOne);
+        entityManager.persist(itemOne);
+        itemTwo = itemOne.toBuilder().id(null).name("Name of item two").build();
+        entityManager.persist(itemTwo);
+
+        assertEquals(1, itemService.search(userOne.getId(), "item", 0, 1).size());
+        assertEquals(2, itemService.search(userOne.getId(), "item", 0, null).size());
+    }
+
+    @Test
+    void searchEmptyTextTest() {
+        itemOne.setOwner(userOne);
+        entityManager.persist(itemOne);
+
+        List<ItemDto> actualItemDtoList = itemService.search(userOne.getId(), "", 0, 10);
+
+        assertTrue(actualItemDtoList.isEmpty());
+    }
+
+    @Test
+    void getAllItemsWithBookingsAndCommentsTest() {
+        itemOne.setOwner(userOne);
+        entityManager.persist(itemOne);
+        entityManager.persist(userTwo);
+        Booking lastBooking = Booking.builder()
+                .booker(userTwo)
+                .item(itemOne)
+                .status(APPROVED)
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .build();
+        Booking nextBooking = Booking.builder()
+                .booker(userTwo)
+                .item(itemOne)
+                .status(APPROVED)
+                .start(LocalDateTime.now().plusDays(2))
+                .end(LocalDateTime.now().plusDays(3))
+                .build();
+        Booking olderBooking = Booking.builder()
+                .booker(userTwo)
+                .item(itemOne)
+                .status(APPROVED)
+                .start(LocalDateTime.now().minusDays(10))
+                .end(LocalDateTime.now().minusDays(9))
+                .build();
+        entityManager.persist(lastBooking);
+        entityManager.persist(nextBooking);
+        entityManager.persist(olderBooking);
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Comment of item");
+        itemService.addComment(userTwo.getId(), itemOne.getId(), commentDto);
+
+        List<ItemInfoDto> actualItemDtoList = itemService.getAll(userOne.getId(), 0, 10);
+
+        assertEquals(1, actualItemDtoList.size());
+        assertEquals(lastBooking.getId(), actualItemDtoList.get(0).getLastBookingDto().getId());
+        assertEquals(nextBooking.getId(), actualItemDtoList.get(0).getNextBookingDto().getId());
+        assertEquals(1, actualItemDtoList.get(0).getCommentsDtoList().size());
+    }
+
+    @Test
+    void getByIdItemNotOwnerHasNoBookingsTest() {
+        itemOne.setOwner(userOne);
+        entityManager.persist(itemOne);
+        entityManager.persist(userTwo);
+        Booking booking = Booking.builder()
+                .booker(userTwo)
+                .item(itemOne)
+                .status(APPROVED)
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .build();
+        entityManager.persist(booking);
+
+        ItemInfoDto actualItemDto = itemService.getById(userTwo.getId(), itemOne.getId());
+
+        assertNull(actualItemDto.getLastBookingDto());
+        assertNull(actualItemDto.getNextBookingDto());
+    }
+
+    @Test
+    void lastBookingIsLatestApprovedAndNextIsFirstUpcomingTest() {
+        itemOne.setOwner(userOne);
+        entityManager.persist(itemOne);
+        entityManager.persist(userTwo);
+        Booking approvedBooking = Booking.builder()
+                .booker(userTwo)
+                .item(itemOne)
+                .status(APPROVED)
+                .start(LocalDateTime.now().minusDays(5))
+                .end(LocalDateTime.now().minusDays(4))
+                .build();
+        Booking rejectedBooking = Booking.builder()
+                .booker(userTwo)
+                .item(itemOne)
+                .status(REJECTED)
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .build();
+        Booking waitingBooking = Booking.builder()
+                .booker(userTwo)
+                .item(itemOne)
+                .status(WAITING)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+        Booking laterBooking = Booking.builder()
+                .booker(userTwo)
+                .item(itemOne)
+                .status(APPROVED)
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .build();
+        entityManager.persist(approvedBooking);
+        entityManager.persist(rejectedBooking);
+        entityManager.persist(waitingBooking);
+        entityManager.persist(laterBooking);
+
+        ItemInfoDto actualItemDto = itemService.getById(userOne.getId(), itemOne.getId());
+
+        assertEquals(approvedBooking.getId(), actualItemDto.getLastBookingDto().getId());
+        assertEquals(waitingBooking.getId(), actualItemDto.getNextBookingDto().getId());
+    }
+}
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.server.schema;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.server.booking.BookingCursor;
+import ru.practicum.shareit.server.booking.BookingService;
+import ru.practicum.shareit.server.booking.BookingState;
+import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.comment.dto.CommentDto;
+import ru.practicum.shareit.server.item.ItemService;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.request.ItemRequestService;
+import ru.practicum.shareit.server.request.dto.ItemRequestDto;
+import ru.practicum.shareit.server.user.UserService;
+import ru.practicum.shareit.server.user.dto.UserDto;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the read paths of the services, records the statements Hibernate generates for them and checks the plan of
+ * every one that filters rows: none may read a whole table when an index could have answered it.
+ */
+@Transactional
+@Import(AbstractQueryPlanTest.StatementRecorderConfig.class)
+abstract class AbstractQueryPlanTest {
+    private static final Pattern WHERE = Pattern.compile("\\bwhere\\b", Pattern.CASE_INSENSITIVE);
+    private static final List<BookingState> STATES = List.of(BookingState.ALL, BookingState.CURRENT,
+            BookingState.PAST, BookingState.FUTURE, BookingState.WAITING, BookingState.REJECTED);
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StatementRecorder statementRecorder;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    /**
+     * @return the plan the database chooses for {@code sql}, whose parameters are JDBC {@code ?} placeholders
+     */
+    protected abstract String explain(String sql);
+
+    protected abstract boolean readsWholeTable(String plan);
+
+    /**
+     * Statements that filter rows but cannot use an index on this database.
+     */
+    protected boolean mayReadWholeTable(String sql) {
+        return false;
+    }
+
+    @Test
+    void generatedQueriesUseIndexesTest() {
+        UserDto owner = userService.create(UserDto.builder().name("Name of owner").email("planowner@mail.com").build());
+        UserDto booker = userService.create(UserDto.builder().name("Name of booker").email("planbooker@mail.com").build());
+        ItemRequestDto request = itemRequestService.create(booker.getId(), ItemRequestDto.builder()
+                .description("Description of request")
+                .itemDtoList(List.of())
+                .build());
+        ItemDto item = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Name of item")
+                .description("Description of item")
+                .available(true)
+                .requestId(request.getId())
+                .build());
+        BookingDto booking = bookingService.create(booker.getId(), BookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        bookingService.updateStatus(owner.getId(), booking.getId(), true);
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                        "values (?, ?, ?, ?, 'APPROVED')",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(2)),
+                Timestamp.valueOf(LocalDateTime.now().minusDays(1)),
+                item.getId(), booker.getId());
+        CommentDto comment = new CommentDto();
+        comment.setText("Comment of item");
+        itemService.addComment(booker.getId(), item.getId(), comment);
+        entityManager.flush();
+        entityManager.clear();
+
+        statementRecorder.start();
+        readEverything(owner.getId(), booker.getId(), item.getId(), booking.getId(), request.getId());
+        Map<String, String> fullReads = new TreeMap<>();
+        for (String sql : statementRecorder.stop()) {
+            if (!WHERE.matcher(sql).find() || mayReadWholeTable(sql)) {
+                continue;
+            }
+            String plan = explain(sql);
+            if (readsWholeTable(plan)) {
+                fullReads.put(sql, plan);
+            }
+        }
+
+        assertTrue(fullReads.isEmpty(), fullReads::toString);
+    }
+
+    private void readEverything(Long ownerId, Long bookerId, Long itemId, Long bookingId, Long requestId) {
+        userService.getById(ownerId);
+        bookingService.getById(ownerId, bookingId);
+        for (BookingState state : STATES) {
+            bookingService.getAllByBookerId(bookerId, state.name(), 0, 10);
+            bookingService.getAllByOwnerId(ownerId, state.name(), 0, 10);
+            List<BookingDto> bookerPage = bookingService.getAllByBookerIdAfter(bookerId, state.name(), "", 1);
+            List<BookingDto> ownerPage = bookingService.getAllByOwnerIdAfter(ownerId, state.name(), "", 1);
+            if (!bookerPage.isEmpty()) {
+                bookingService.getAllByBookerIdAfter(bookerId, state.name(),
+                        BookingCursor.of(bookerPage.get(0)).encode(), 1);
+            }
+            if (!ownerPage.isEmpty()) {
+                bookingService.getAllByOwnerIdAfter(ownerId, state.name(),
+                        BookingCursor.of(ownerPage.get(0)).encode(), 1);
+            }
+        }
+        bookingService.exportAllByBookerId(bookerId, BookingState.ALL.name(), booking -> {
+        });
+        bookingService.exportAllByOwnerId(ownerId, BookingState.ALL.name(), booking -> {
+        });
+        bookingService.getOwnerStats(ownerId);
+        itemService.getById(ownerId, itemId);
+        itemService.getAll(ownerId, 0, 10);
+        itemService.search(bookerId, "item", 0, 10);
+        itemRequestService.getAllByUserId(bookerId);
+        itemRequestService.getItemRequestById(bookerId, requestId);
+    }
+
+    /**
+     * @return the statement with its {@code ?} placeholders numbered {@code $1}, {@code $2}, ...
+     */
+    protected static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    protected static int countParameters(String sql) {
+        return (int) sql.chars().filter(c -> c == '?').count();
+    }
+
+    @TestConfiguration
+    static class StatementRecorderConfig {
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(StatementRecorder statementRecorder) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementRecorder);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.server.schema;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.StringJoiner;
+
+/**
+ * Checks the plans on the database the server runs on in production. With sequential scans switched off the planner
+ * picks an index wherever one applies, so a {@code Seq Scan} left in a plan means no index could serve the statement.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class PostgresQueryPlanTest extends AbstractQueryPlanTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14.4-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Override
+    protected String explain(String sql) {
+        String parameters = String.join(", ", Collections.nCopies(countParameters(sql), "null"));
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set local enable_seqscan = off");
+                statement.execute("set local plan_cache_mode = force_generic_plan");
+                statement.execute("prepare shareit_plan as " + numberParameters(sql));
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet rows = statement.executeQuery(parameters.isEmpty()
+                        ? "explain execute shareit_plan"
+                        : "explain execute shareit_plan(" + parameters + ")")) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                } finally {
+                    statement.execute("deallocate shareit_plan");
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    @Override
+    protected boolean readsWholeTable(String plan) {
+        return plan.contains("Seq Scan");
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.server.schema;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.regex.Pattern;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class QueryPlanTest extends AbstractQueryPlanTest {
+    private static final String TABLE_SCAN = "tableScan";
+    private static final Pattern LIKE = Pattern.compile("\\blike\\b", Pattern.CASE_INSENSITIVE);
+
+    @Override
+    protected String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class,
+                new Object[countParameters(sql)]));
+    }
+
+    @Override
+    protected boolean readsWholeTable(String plan) {
+        return plan.contains(TABLE_SCAN);
+    }
+
+    /**
+     * H2 has no trigram index, so the substring search reads all items; PostgreSQL has one.
+     */
+    @Override
+    protected boolean mayReadWholeTable(String sql) {
+        return LIKE.matcher(sql).find();
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.server.schema;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Collects every statement Hibernate prepares while recording is on, exactly as it is sent to the database.
+ */
+class StatementRecorder implements StatementInspector {
+    private final Set<String> statements = new LinkedHashSet<>();
+    private volatile boolean recording;
+
+    @Override
+    public String inspect(String sql) {
+        if (recording) {
+            synchronized (statements) {
+                statements.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    void start() {
+        synchronized (statements) {
+            statements.clear();
+        }
+        recording = true;
+    }
+
+    Set<String> stop() {
+        recording = false;
+        synchronized (statements) {
+            return new LinkedHashSet<>(statements);
+        }
+    }
+}